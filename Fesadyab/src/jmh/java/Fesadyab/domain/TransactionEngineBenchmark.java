@@ -0,0 +1,123 @@
+package Fesadyab.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the scoring paths over a prefilled history. The history is capped at
+ * {@code historySize} by a retention policy, so appends measure a steady state of that size
+ * instead of a history that keeps growing across iterations. Run with
+ * {@code mvn -P jmh test-compile exec:exec}; pass JMH options through {@code -Djmh.args=...}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionEngineBenchmark {
+    private static final int INCOMING = 1 << 16;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int historySize;
+
+    @Param({"100", "100000"})
+    int accountCount;
+
+    @Param({"0.0", "0.1"})
+    double duplicateRatio;
+
+    private TransactionEngine engine;
+    private Transaction incoming;
+    private int[] incomingAccountIds;
+    private int[] incomingAmounts;
+    private boolean[] incomingDebits;
+    private boolean[] incomingDuplicates;
+    private int[] duplicateAges;
+    private int cursor;
+    private int nextTransactionId;
+
+    @Setup(Level.Trial)
+    public void fillHistory() {
+        Random random = new Random(42);
+        engine = new TransactionEngine();
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < historySize; i++) {
+            batch.add(transaction(i, random.nextInt(accountCount), 1 + random.nextInt(2000), random.nextBoolean()));
+            if (batch.size() == 10_000) {
+                engine.addTransactionsAndDetectFraud(batch);
+                batch.clear();
+            }
+        }
+        engine.addTransactionsAndDetectFraud(batch);
+        engine.setRetentionPolicy(RetentionPolicy.builder().maxCount(historySize).build());
+        nextTransactionId = historySize;
+
+        incoming = new Transaction();
+        incomingAccountIds = new int[INCOMING];
+        incomingAmounts = new int[INCOMING];
+        incomingDebits = new boolean[INCOMING];
+        incomingDuplicates = new boolean[INCOMING];
+        duplicateAges = new int[INCOMING];
+        for (int i = 0; i < INCOMING; i++) {
+            incomingAccountIds[i] = random.nextInt(accountCount);
+            incomingAmounts[i] = 1 + random.nextInt(2000);
+            incomingDebits[i] = random.nextBoolean();
+            incomingDuplicates[i] = random.nextDouble() < duplicateRatio;
+            duplicateAges[i] = 1 + random.nextInt(historySize);
+        }
+    }
+
+    @Benchmark
+    public int addTransactionAndDetectFraud() {
+        int i = next();
+        // duplicates replay an id still inside the retained history
+        incoming.transactionId = incomingDuplicates[i] ? nextTransactionId - duplicateAges[i] : nextTransactionId++;
+        incoming.accountId = incomingAccountIds[i];
+        incoming.amount = incomingAmounts[i];
+        incoming.isDebit = incomingDebits[i];
+        return engine.addTransactionAndDetectFraud(incoming);
+    }
+
+    @Benchmark
+    public int getAverageTransactionAmountByAccount() {
+        return engine.getAverageTransactionAmountByAccount(incomingAccountIds[next()]);
+    }
+
+    @Benchmark
+    public int getTransactionPatternAboveThreshold() {
+        return engine.getTransactionPatternAboveThreshold(engine.THRESHOLD);
+    }
+
+    @Benchmark
+    public int scanTransactionPatternAboveThreshold() {
+        return engine.scanTransactionPatternAboveThreshold(engine.THRESHOLD);
+    }
+
+    private int next() {
+        return cursor++ & (INCOMING - 1);
+    }
+
+    private static Transaction transaction(int transactionId, int accountId, int amount, boolean isDebit) {
+        Transaction txn = new Transaction();
+        txn.transactionId = transactionId;
+        txn.accountId = accountId;
+        txn.amount = amount;
+        txn.isDebit = isDebit;
+        return txn;
+    }
+}
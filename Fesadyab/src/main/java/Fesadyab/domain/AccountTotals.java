@@ -0,0 +1,88 @@
+package Fesadyab.domain;
+
+/**
+ * Running amount sum and transaction count per account, in an open-addressing
+ * map with parallel primitive columns. A slot with count 0 is empty.
+ */
+class AccountTotals {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] accountIds;
+    private long[] sums;
+    private int[] counts;
+    private int mask;
+    private int size;
+
+    AccountTotals() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    void add(int accountId, int amount) {
+        int i = find(accountId);
+        if (counts[i] == 0) {
+            accountIds[i] = accountId;
+            size++;
+        }
+        sums[i] += amount;
+        counts[i]++;
+        if (size > (accountIds.length >> 1)) {
+            rehash(accountIds.length << 1);
+        }
+    }
+
+    long sum(int accountId) {
+        return sums[find(accountId)];
+    }
+
+    int count(int accountId) {
+        return counts[find(accountId)];
+    }
+
+    /**
+     * Truncated integer mean of the account's amounts, or 0 for an unknown account.
+     */
+    int average(int accountId) {
+        int i = find(accountId);
+        return counts[i] == 0 ? 0 : (int) (sums[i] / counts[i]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryFootprint() {
+        return 16L * accountIds.length;
+    }
+
+    // slot holding the account, or the empty slot where it would go
+    private int find(int accountId) {
+        int h = accountId * 0x9E3779B9;
+        int i = (h ^ (h >>> 16)) & mask;
+        while (counts[i] != 0 && accountIds[i] != accountId) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldAccountIds = accountIds;
+        long[] oldSums = sums;
+        int[] oldCounts = counts;
+        allocate(capacity);
+        for (int j = 0; j < oldCounts.length; j++) {
+            if (oldCounts[j] != 0) {
+                int i = find(oldAccountIds[j]);
+                accountIds[i] = oldAccountIds[j];
+                sums[i] = oldSums[j];
+                counts[i] = oldCounts[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        accountIds = new int[capacity];
+        sums = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+    }
+}
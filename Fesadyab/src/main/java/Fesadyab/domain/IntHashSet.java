@@ -0,0 +1,103 @@
+package Fesadyab.domain;
+
+/**
+ * Open-addressing set of ints with linear probing. Slot value 0 marks an empty
+ * slot, so the key 0 itself is tracked by a separate flag.
+ */
+class IntHashSet {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean containsZero;
+
+    IntHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IntHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    boolean contains(int key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == 0) {
+                return false;
+            }
+            if (k == key) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return true if the key was not already present
+     */
+    boolean add(int key) {
+        if (key == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = slot(key);
+        for (int k = keys[i]; k != 0; k = keys[i]) {
+            if (k == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryFootprint() {
+        return 4L * keys.length;
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = keys;
+        allocate(capacity);
+        for (int key : old) {
+            if (key != 0) {
+                int i = slot(key);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+}
@@ -0,0 +1,60 @@
+package Fesadyab.domain;
+
+/**
+ * Set of recently added ints, kept in two generations so that it forgets old keys in O(1).
+ * <p>
+ * Keys go into the current generation. Once it holds {@code maxKeys} keys, or spans more than
+ * {@code maxAgeMillis} of event time, it becomes the previous generation and the old previous
+ * one is dropped. Every key added within the last {@code maxKeys} distinct keys and the last
+ * {@code maxAgeMillis} is therefore still found, and at most {@code 2 * maxKeys} keys are held.
+ */
+class RecentIdSet {
+    private int maxKeys = Integer.MAX_VALUE;
+    private long maxAgeMillis = Long.MAX_VALUE;
+    private IntHashSet current;
+    private IntHashSet previous;
+    private long generationStart;
+
+    RecentIdSet() {
+        current = new IntHashSet();
+        previous = new IntHashSet();
+    }
+
+    /**
+     * Sets the horizon; {@code Integer.MAX_VALUE} and {@code Long.MAX_VALUE} mean no limit.
+     */
+    void setLimits(int maxKeys, long maxAgeMillis) {
+        this.maxKeys = maxKeys;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    boolean contains(int key) {
+        return current.contains(key) || previous.contains(key);
+    }
+
+    /**
+     * @param now the newest event time seen so far
+     */
+    void add(int key, long now) {
+        if (current.size() == 0) {
+            generationStart = now;
+        } else if (current.size() >= maxKeys || isExpired(now)) {
+            previous = current;
+            current = new IntHashSet();
+            generationStart = now;
+        }
+        current.add(key);
+    }
+
+    int size() {
+        return current.size() + previous.size();
+    }
+
+    long memoryFootprint() {
+        return current.memoryFootprint() + previous.memoryFootprint();
+    }
+
+    private boolean isExpired(long now) {
+        return maxAgeMillis != Long.MAX_VALUE && now > generationStart && now - generationStart > maxAgeMillis;
+    }
+}
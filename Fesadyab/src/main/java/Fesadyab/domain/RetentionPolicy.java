@@ -0,0 +1,27 @@
+package Fesadyab.domain;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Limits on the transactions a {@link TransactionEngine} keeps in memory. Rows beyond any
+ * limit are evicted, oldest first: beyond {@code maxCount} overall, older than
+ * {@code maxAge} relative to the newest event time, or beyond {@code perAccountCap} for
+ * their account. Unset limits do not apply.
+ */
+@Getter
+@Builder
+public class RetentionPolicy {
+    @Builder.Default
+    private int maxCount = Integer.MAX_VALUE;
+    private Duration maxAge;
+    @Builder.Default
+    private int perAccountCap = Integer.MAX_VALUE;
+
+    public static final RetentionPolicy UNBOUNDED = RetentionPolicy.builder().build();
+
+    boolean isUnbounded() {
+        return maxCount == Integer.MAX_VALUE && maxAge == null && perAccountCap == Integer.MAX_VALUE;
+    }
+}
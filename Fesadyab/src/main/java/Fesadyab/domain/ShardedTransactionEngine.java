@@ -0,0 +1,110 @@
+package Fesadyab.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Concurrent counterpart of {@link TransactionEngine} that partitions account state by accountId.
+ * <p>
+ * Each shard owns the totals of its accounts and is driven by a single thread, so transactions of
+ * one account are scored in submission order while different shards score in parallel.
+ * Transaction ids are deduplicated globally, across striped id sets.
+ * <p>
+ * The threshold pattern spans all accounts, so it follows commit order: a transaction reads the
+ * pattern and is appended to it in one step under a global lock, and the pattern it sees covers
+ * exactly the transactions committed before it. Commit order agrees with submission order within
+ * an account but interleaves shards arbitrarily, so with more than one shard pattern scores depend
+ * on scheduling. With one shard the engine scores exactly like {@link TransactionEngine}.
+ */
+public class ShardedTransactionEngine implements AutoCloseable {
+    private static final int ID_STRIPES = 64;
+
+    private final Shard[] shards;
+    private final IntHashSet[] seenTransactionIds;
+    private final ThresholdPatternDetector patternDetector;
+
+    public ShardedTransactionEngine(int shardCount) {
+        this(shardCount, 1000);
+    }
+
+    public ShardedTransactionEngine(int shardCount, int threshold) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        seenTransactionIds = new IntHashSet[ID_STRIPES];
+        for (int i = 0; i < ID_STRIPES; i++) {
+            seenTransactionIds[i] = new IntHashSet();
+        }
+        patternDetector = new ThresholdPatternDetector(threshold);
+    }
+
+    public CompletableFuture<Integer> addTransactionAndDetectFraud(Transaction txn) {
+        Shard shard = shardOf(txn.accountId);
+        return CompletableFuture.supplyAsync(() -> shard.add(txn), shard.executor);
+    }
+
+    /**
+     * Submits a batch and waits for its scores. Transactions of one account are scored in list order.
+     */
+    public int[] addTransactionsAndDetectFraud(List<Transaction> transactions) {
+        List<CompletableFuture<Integer>> pending = new ArrayList<>(transactions.size());
+        for (Transaction txn : transactions) {
+            pending.add(addTransactionAndDetectFraud(txn));
+        }
+        return pending.stream().mapToInt(CompletableFuture::join).toArray();
+    }
+
+    public int getAverageTransactionAmountByAccount(int accountId) {
+        Shard shard = shardOf(accountId);
+        return CompletableFuture.supplyAsync(() -> shard.accountTotals.average(accountId), shard.executor).join();
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+    }
+
+    private Shard shardOf(int accountId) {
+        return shards[Math.floorMod(accountId, shards.length)];
+    }
+
+    private boolean claimTransactionId(int transactionId) {
+        IntHashSet stripe = seenTransactionIds[Math.floorMod(transactionId, ID_STRIPES)];
+        synchronized (stripe) {
+            return stripe.add(transactionId);
+        }
+    }
+
+    private class Shard {
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+        // only touched from the shard's executor thread
+        private final AccountTotals accountTotals = new AccountTotals();
+
+        private int add(Transaction txn) {
+            if (!claimTransactionId(txn.transactionId)) {
+                return 0;
+            }
+
+            var fraudScore = TransactionEngine.excessiveDebitScore(txn, accountTotals.average(txn.accountId));
+
+            synchronized (patternDetector) {
+                if (fraudScore == 0) {
+                    fraudScore = patternDetector.getPattern();
+                }
+                patternDetector.accept(txn);
+            }
+
+            accountTotals.add(txn.accountId, txn.amount);
+            return fraudScore;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package Fesadyab.domain;
+
+/**
+ * Incremental form of the threshold pattern scan. After the first transaction,
+ * transactions above the threshold are compared with the last one seen. The
+ * first non-zero gap fixes the step and the reference transaction. Any later
+ * gap that does not match the step breaks the pattern for good.
+ */
+class ThresholdPatternDetector {
+    private final int threshold;
+    private boolean empty;
+    private int previousId;
+    private int previousAmount;
+    private int diff;
+    private boolean broken;
+
+    ThresholdPatternDetector(int threshold) {
+        this.threshold = threshold;
+        this.empty = true;
+    }
+
+    void accept(Transaction txn) {
+        accept(txn.transactionId, txn.amount);
+    }
+
+    void accept(int transactionId, int amount) {
+        if (empty) {
+            empty = false;
+            previousId = transactionId;
+            previousAmount = amount;
+            return;
+        }
+        if (broken || transactionId == previousId || amount <= threshold) {
+            return;
+        }
+
+        if (diff == 0) {
+            diff = amount - previousAmount;
+            previousId = transactionId;
+            previousAmount = amount;
+        } else if (diff != amount - previousAmount) {
+            broken = true;
+        }
+    }
+
+    int getPattern() {
+        return broken ? 0 : diff;
+    }
+
+    int getThreshold() {
+        return threshold;
+    }
+}
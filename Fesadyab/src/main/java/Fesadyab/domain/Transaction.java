@@ -10,6 +10,7 @@ public class Transaction {
     int accountId;
     int amount;
     boolean isDebit;
+    long timestamp;  // event time, epoch milliseconds
 
     @Override
     public boolean equals(Object obj) {
@@ -18,4 +19,9 @@ public class Transaction {
         }
         return false;
     }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(transactionId);
+    }
 }
@@ -1,54 +1,177 @@
 package Fesadyab.domain;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 
-public class TransactionEngine {
-    ArrayList<Transaction> transactionHistory;
+public class TransactionEngine implements AutoCloseable {
+    private static final int VELOCITY_BUCKETS = 60;
+    private static final int MIN_COMPACTION_SLACK = 1024;
+
+    TransactionHistory transactionHistory;
     int THRESHOLD = 1000;
 
+    // ids, per-account totals and the THRESHOLD pattern of transactionHistory[0, indexedCount);
+    // history is append-only, so the indexes only have to catch up
+    private RecentIdSet seenTransactionIds;
+    private AccountTotals accountTotals;
+    private ThresholdPatternDetector patternDetector;
+    private List<VelocityLimit> velocityLimits;
+    private int indexedCount;
+    private TransactionJournal journal;
+    private RetentionPolicy retentionPolicy;
+    private int compactAt;
+    private long newestTimestamp;
+
     public TransactionEngine() {
-        transactionHistory = new ArrayList<>();
+        transactionHistory = new TransactionHistory();
+        seenTransactionIds = new RecentIdSet();
+        accountTotals = new AccountTotals();
+        patternDetector = new ThresholdPatternDetector(THRESHOLD);
+        velocityLimits = new ArrayList<>();
+        retentionPolicy = RetentionPolicy.UNBOUNDED;
+        newestTimestamp = Long.MIN_VALUE;
     }
 
-    int getAverageTransactionAmountByAccount(int accountId) {
-        var totalAmount = 0;
-        var count = 0;
+    /**
+     * Rebuilds an engine from its journal, creating the journal if it does not exist yet.
+     * Transactions added through the engine are journaled before they enter the history.
+     */
+    public static TransactionEngine recover(Path journalPath) throws IOException {
+        TransactionEngine engine = new TransactionEngine();
+        engine.journal = TransactionJournal.open(journalPath);
+        try {
+            engine.journal.replay(engine.transactionHistory);
+        } catch (IOException | RuntimeException ex) {
+            engine.journal.close();
+            throw ex;
+        }
+        engine.indexHistory();
+        return engine;
+    }
 
-        for (Transaction txn : transactionHistory) {
-            if (txn.accountId == accountId) {
-                totalAmount += txn.amount;
-                count++;
+    /**
+     * Flags debits that take their account above {@code maxCount} debits or {@code maxAmount}
+     * debited in total within the trailing window, measured in event time. Credits are not
+     * counted, so incoming money never raises a flag.
+     */
+    public void addVelocityLimit(Duration window, int maxCount, long maxAmount) {
+        VelocityLimit limit = new VelocityLimit(new VelocityWindow(window.toMillis(), VELOCITY_BUCKETS), maxCount, maxAmount);
+        for (int i = 0; i < indexedCount; i++) {
+            if (!transactionHistory.isDebit(i)) {
+                continue;
             }
+            limit.window.add(transactionHistory.accountIdAt(i), transactionHistory.timestampAt(i), transactionHistory.amountAt(i));
         }
+        velocityLimits.add(limit);
+    }
 
-        if (count == 0) {
-            return 0;
+    /**
+     * Bounds the in-memory history. Evicted transactions stay counted in the per-account
+     * averages, and remain in the journal if there is one; the threshold scan for thresholds
+     * other than THRESHOLD, THRESHOLD changes and newly added velocity limits only see the
+     * retained rows. Eviction runs in amortized batches: the history may exceed
+     * {@code maxCount} by a quarter of it, or by 1024 rows when that is more, before a batch runs.
+     * <p>
+     * Duplicate detection gets the same horizon. A transaction id is rejected as a duplicate
+     * if it was seen within the last {@code maxCount} transactions and within {@code maxAge}
+     * of the newest event time; an older id is scored and added as a new transaction. With
+     * only a {@code perAccountCap}, the horizon is the number of rows the history held after
+     * its last eviction batch, plus the batch slack. The per-account totals behind the
+     * averages grow with the number of distinct accounts, not with transaction volume.
+     */
+    public void setRetentionPolicy(RetentionPolicy retentionPolicy) {
+        this.retentionPolicy = retentionPolicy;
+        indexHistory();
+        compactHistory();
+    }
+
+    /**
+     * Approximate bytes held by the engine's history, indexes and windows.
+     */
+    public long getMemoryFootprint() {
+        var bytes = transactionHistory.memoryFootprint()
+            + seenTransactionIds.memoryFootprint()
+            + accountTotals.memoryFootprint();
+        for (VelocityLimit limit : velocityLimits) {
+            bytes += limit.window.memoryFootprint();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void indexHistory() {
+        if (patternDetector.getThreshold() != THRESHOLD) {
+            patternDetector = new ThresholdPatternDetector(THRESHOLD);
+            for (int i = 0; i < indexedCount; i++) {
+                patternDetector.accept(transactionHistory.transactionIdAt(i), transactionHistory.amountAt(i));
+            }
         }
+        while (indexedCount < transactionHistory.size()) {
+            index(indexedCount++);
+        }
+    }
 
-        return totalAmount / count;
+    private void index(int row) {
+        var transactionId = transactionHistory.transactionIdAt(row);
+        var amount = transactionHistory.amountAt(row);
+        newestTimestamp = Math.max(newestTimestamp, transactionHistory.timestampAt(row));
+        seenTransactionIds.add(transactionId, newestTimestamp);
+        accountTotals.add(transactionHistory.accountIdAt(row), amount);
+        patternDetector.accept(transactionId, amount);
+        if (transactionHistory.isDebit(row)) {
+            for (VelocityLimit limit : velocityLimits) {
+                limit.window.add(transactionHistory.accountIdAt(row), transactionHistory.timestampAt(row), amount);
+            }
+        }
+    }
+
+    int getAverageTransactionAmountByAccount(int accountId) {
+        indexHistory();
+        return accountTotals.average(accountId);
     }
 
     int getTransactionPatternAboveThreshold(int threshold) {
+        if (threshold != THRESHOLD) {
+            return scanTransactionPatternAboveThreshold(threshold);
+        }
+        indexHistory();
+        return patternDetector.getPattern();
+    }
+
+    int scanTransactionPatternAboveThreshold(int threshold) {
         if (transactionHistory.isEmpty()) {
             return 0;
         }
 
         var diff = 0;
-        var previous = transactionHistory.getFirst();
+        var previousId = transactionHistory.transactionIdAt(0);
+        var previousAmount = transactionHistory.amountAt(0);
 
-        for (Transaction txn : transactionHistory) {
-            if (txn.transactionId == previous.transactionId) {
+        for (int i = 0; i < transactionHistory.size(); i++) {
+            var transactionId = transactionHistory.transactionIdAt(i);
+            var amount = transactionHistory.amountAt(i);
+            if (transactionId == previousId) {
                 continue;
             }
 
-            if (txn.amount <= threshold) {
+            if (amount <= threshold) {
                 continue;
             }
 
             if (diff == 0) {
-                diff = txn.amount - previous.amount;
-                previous = txn;
-            } else if (diff != txn.amount - previous.amount) {
+                diff = amount - previousAmount;
+                previousId = transactionId;
+                previousAmount = amount;
+            } else if (diff != amount - previousAmount) {
                 return 0;
             }
         }
@@ -58,7 +181,10 @@ public class TransactionEngine {
 
     int detectFraudulentTransaction(Transaction txn) {
         var averageAmount = getAverageTransactionAmountByAccount(txn.accountId);
+        return excessiveDebitScore(txn, averageAmount);
+    }
 
+    static int excessiveDebitScore(Transaction txn, int averageAmount) {
         if (txn.isDebit && txn.amount > 2 * averageAmount) {
             return txn.amount - 2 * averageAmount;  // Excessive debit, marked as suspicious
         }
@@ -67,16 +193,119 @@ public class TransactionEngine {
     }
 
     public int addTransactionAndDetectFraud(Transaction txn) {
-        if (transactionHistory.contains(txn)) {
+        indexHistory();
+        var fraudScore = addIndexed(txn);
+        enforceRetention();
+        return fraudScore;
+    }
+
+    /**
+     * Scores and appends a batch, giving the same scores as adding the transactions one by one.
+     */
+    public int[] addTransactionsAndDetectFraud(List<Transaction> transactions) {
+        indexHistory();
+        transactionHistory.ensureCapacity(transactionHistory.size() + transactions.size());
+
+        int[] fraudScores = new int[transactions.size()];
+        var i = 0;
+        for (Transaction txn : transactions) {
+            fraudScores[i++] = addIndexed(txn);
+        }
+        enforceRetention();
+        return fraudScores;
+    }
+
+    // requires the indexes to cover the whole history, and keeps them that way
+    private int addIndexed(Transaction txn) {
+        if (seenTransactionIds.contains(txn.transactionId)) {
             return 0;
         }
 
-        var fraudScore = detectFraudulentTransaction(txn);
+        var fraudScore = excessiveDebitScore(txn, accountTotals.average(txn.accountId));
+        if (fraudScore == 0) {
+            fraudScore = velocityScore(txn);
+        }
         if (fraudScore == 0) {
-            fraudScore = getTransactionPatternAboveThreshold(THRESHOLD);
+            fraudScore = patternDetector.getPattern();
         }
 
+        if (journal != null) {
+            journal.append(txn);
+        }
         transactionHistory.add(txn);
+        index(indexedCount++);
         return fraudScore;
     }
+
+    private int velocityScore(Transaction txn) {
+        if (!txn.isDebit) {
+            return 0;
+        }
+        for (VelocityLimit limit : velocityLimits) {
+            var count = limit.window.count(txn.accountId, txn.timestamp) + 1;
+            var sum = limit.window.sum(txn.accountId, txn.timestamp) + txn.amount;
+            if (count > limit.maxCount || sum > limit.maxAmount) {
+                return txn.amount;  // Too fast for the window, the whole debit is suspicious
+            }
+        }
+        return 0;
+    }
+
+    private void enforceRetention() {
+        if (!retentionPolicy.isUnbounded() && transactionHistory.size() >= compactAt) {
+            compactHistory();
+        }
+    }
+
+    // requires the indexes to cover the whole history
+    private void compactHistory() {
+        var size = transactionHistory.size();
+        if (!retentionPolicy.isUnbounded()) {
+            long[] keep = new long[(size >> 6) + 1];
+            var firstKept = size - Math.min(size, retentionPolicy.getMaxCount());
+            var oldestKept = retentionPolicy.getMaxAge() == null ? Long.MIN_VALUE
+                : newestTimestamp - retentionPolicy.getMaxAge().toMillis();
+            // walk newest to oldest so the per-account cap keeps each account's latest rows
+            var rowsByAccount = new AccountTotals();
+            for (int row = size - 1; row >= firstKept; row--) {
+                if (transactionHistory.timestampAt(row) < oldestKept) {
+                    continue;
+                }
+                var accountId = transactionHistory.accountIdAt(row);
+                if (rowsByAccount.count(accountId) >= retentionPolicy.getPerAccountCap()) {
+                    continue;
+                }
+                rowsByAccount.add(accountId, 0);
+                keep[row >> 6] |= 1L << row;
+            }
+            transactionHistory.compact(keep);
+            indexedCount = transactionHistory.size();
+        }
+
+        var retained = transactionHistory.size();
+        var slack = Math.max(MIN_COMPACTION_SLACK, retained >> 2);
+        if (retentionPolicy.getMaxCount() != Integer.MAX_VALUE) {
+            slack = Math.min(slack, Math.max(MIN_COMPACTION_SLACK, retentionPolicy.getMaxCount() >> 2));
+        }
+        compactAt = retained + Math.max(1, slack);
+
+        var maxIds = retentionPolicy.getMaxCount();
+        if (maxIds == Integer.MAX_VALUE && retentionPolicy.getPerAccountCap() != Integer.MAX_VALUE) {
+            maxIds = compactAt;
+        }
+        var maxAge = retentionPolicy.getMaxAge();
+        seenTransactionIds.setLimits(maxIds, maxAge == null ? Long.MAX_VALUE : maxAge.toMillis());
+    }
+
+    private static class VelocityLimit {
+        private final VelocityWindow window;
+        private final int maxCount;
+        private final long maxAmount;
+
+        VelocityLimit(VelocityWindow window, int maxCount, long maxAmount) {
+            this.window = window;
+            this.maxCount = maxCount;
+            this.maxAmount = maxAmount;
+        }
+    }
 }
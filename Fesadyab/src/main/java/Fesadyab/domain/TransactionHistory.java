@@ -0,0 +1,140 @@
+package Fesadyab.domain;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Append-only transaction list stored column by column: parallel int arrays for the
+ * id, account and amount of each row, a long array for its timestamp and a bitset for
+ * the debit flag. A row takes 20 bytes and a bit instead of a Transaction object plus
+ * its reference.
+ * {@link #get(int)} materializes a new Transaction; scans should read the columns.
+ * Rows are only ever appended, or dropped in bulk by {@link #compact(long[])}.
+ */
+class TransactionHistory extends AbstractList<Transaction> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] transactionIds;
+    private int[] accountIds;
+    private int[] amounts;
+    private long[] timestamps;
+    private long[] debits;
+    private int size;
+
+    TransactionHistory() {
+        transactionIds = new int[DEFAULT_CAPACITY];
+        accountIds = new int[DEFAULT_CAPACITY];
+        amounts = new int[DEFAULT_CAPACITY];
+        timestamps = new long[DEFAULT_CAPACITY];
+        debits = new long[(DEFAULT_CAPACITY >> 6) + 1];
+    }
+
+    @Override
+    public boolean add(Transaction txn) {
+        add(txn.transactionId, txn.accountId, txn.amount, txn.isDebit, txn.timestamp);
+        return true;
+    }
+
+    void add(int transactionId, int accountId, int amount, boolean isDebit, long timestamp) {
+        ensureCapacity(size + 1);
+        transactionIds[size] = transactionId;
+        accountIds[size] = accountId;
+        amounts[size] = amount;
+        timestamps[size] = timestamp;
+        if (isDebit) {
+            debits[size >> 6] |= 1L << size;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Transaction get(int index) {
+        Objects.checkIndex(index, size);
+        Transaction txn = new Transaction();
+        txn.transactionId = transactionIds[index];
+        txn.accountId = accountIds[index];
+        txn.amount = amounts[index];
+        txn.isDebit = isDebit(index);
+        txn.timestamp = timestamps[index];
+        return txn;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > transactionIds.length) {
+            int newCapacity = Math.max(capacity, transactionIds.length + (transactionIds.length >> 1));
+            transactionIds = Arrays.copyOf(transactionIds, newCapacity);
+            accountIds = Arrays.copyOf(accountIds, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+            timestamps = Arrays.copyOf(timestamps, newCapacity);
+            debits = Arrays.copyOf(debits, (newCapacity >> 6) + 1);
+        }
+    }
+
+    /**
+     * Keeps the rows whose bit is set in {@code keep}, in order, and releases spare capacity.
+     */
+    void compact(long[] keep) {
+        var retained = 0;
+        for (int row = 0; row < size; row++) {
+            if ((keep[row >> 6] & (1L << row)) == 0) {
+                continue;
+            }
+            boolean isDebit = isDebit(row);
+            transactionIds[retained] = transactionIds[row];
+            accountIds[retained] = accountIds[row];
+            amounts[retained] = amounts[row];
+            timestamps[retained] = timestamps[row];
+            debits[retained >> 6] &= ~(1L << retained);
+            if (isDebit) {
+                debits[retained >> 6] |= 1L << retained;
+            }
+            retained++;
+        }
+        Arrays.fill(debits, (retained >> 6) + 1, debits.length, 0L);
+        if (retained < size) {
+            debits[retained >> 6] &= (1L << retained) - 1;
+        }
+        size = retained;
+        modCount++;
+
+        if (size < transactionIds.length >> 2) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            transactionIds = Arrays.copyOf(transactionIds, capacity);
+            accountIds = Arrays.copyOf(accountIds, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            debits = Arrays.copyOf(debits, (capacity >> 6) + 1);
+        }
+    }
+
+    long memoryFootprint() {
+        return 12L * transactionIds.length + 8L * timestamps.length + 8L * debits.length;
+    }
+
+    int transactionIdAt(int index) {
+        return transactionIds[index];
+    }
+
+    int accountIdAt(int index) {
+        return accountIds[index];
+    }
+
+    int amountAt(int index) {
+        return amounts[index];
+    }
+
+    long timestampAt(int index) {
+        return timestamps[index];
+    }
+
+    boolean isDebit(int index) {
+        return (debits[index >> 6] & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,227 @@
+package Fesadyab.domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of fixed-width transaction records, written through memory-mapped chunks.
+ * <p>
+ * The file starts with a little-endian header: {@link #MAGIC}, {@link #VERSION} and the record
+ * width as ints, then an int of padding and the committed record count as a long. A file whose
+ * header does not match, including the headerless journals written before the header existed,
+ * is refused with an IOException and left untouched.
+ * <p>
+ * A record is little-endian: the timestamp as a long, then transaction id, account id, amount,
+ * and a check word that holds the debit flag in bit 0 and a checksum of the record in the other bits. The
+ * checksum never matches an all-zero record, so preallocated space and records torn by a
+ * crash both fail validation.
+ * <p>
+ * {@link #force()} flushes the records and only then raises the committed count, so every
+ * committed record reached the disk. {@link #replay(TransactionHistory)} requires all of them
+ * to be intact and throws otherwise. Past the committed count, it keeps records up to the first
+ * one that fails validation, truncates whatever follows, commits the result, and appends continue
+ * from there. Appends preallocate the file a chunk at a time; {@link #close()} truncates the
+ * unused tail again, so a cleanly closed journal is exactly as long as its records.
+ */
+class TransactionJournal implements AutoCloseable {
+    static final int MAGIC = 0x4E524A46;  // "FJRN"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 24;
+    static final int COMMITTED_OFFSET = 16;
+    static final int RECORD_BYTES = 24;
+    private static final int DEFAULT_CHUNK_BYTES = 64 << 20;
+    private static final int DEFAULT_FORCE_INTERVAL = 4096;
+
+    private final FileChannel channel;
+    private final int chunkBytes;
+    private final int forceInterval;
+    private MappedByteBuffer header;
+    private MappedByteBuffer chunk;
+    private long recordCount;
+    private int unforcedRecords;
+    private boolean replayed;
+
+    private TransactionJournal(FileChannel channel, int chunkBytes, int forceInterval) {
+        this.channel = channel;
+        this.chunkBytes = chunkBytes - chunkBytes % RECORD_BYTES;
+        this.forceInterval = forceInterval;
+    }
+
+    static TransactionJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_CHUNK_BYTES, DEFAULT_FORCE_INTERVAL);
+    }
+
+    static TransactionJournal open(Path path, int chunkBytes, int forceInterval) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new TransactionJournal(channel, chunkBytes, forceInterval);
+    }
+
+    /**
+     * Appends every valid record to the history and returns how many there were.
+     * Must be called once before the first append.
+     *
+     * @throws IOException if the header does not match, or a committed record is missing or corrupt;
+     *                     the file is not modified in that case
+     */
+    long replay(TransactionHistory history) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize == 0) {
+            writeHeader();
+            fileSize = HEADER_BYTES;
+        } else {
+            checkHeader(fileSize);
+        }
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        long committed = header.getLong(COMMITTED_OFFSET);
+        long fullRecords = (fileSize - HEADER_BYTES) / RECORD_BYTES;
+        if (committed < 0 || committed > fullRecords) {
+            throw new IOException("journal commits " + committed + " records but holds only " + fullRecords);
+        }
+        // the file may end in a preallocated chunk, so only the committed records are known to be real
+        history.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, history.size() + committed));
+
+        long position = 0;
+        scan:
+        while (position < fullRecords * RECORD_BYTES) {
+            long length = Math.min(chunkBytes, fullRecords * RECORD_BYTES - position);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + position, length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            for (int offset = 0; offset < length; offset += RECORD_BYTES) {
+                long timestamp = buffer.getLong(offset);
+                int transactionId = buffer.getInt(offset + 8);
+                int accountId = buffer.getInt(offset + 12);
+                int amount = buffer.getInt(offset + 16);
+                int check = buffer.getInt(offset + 20);
+                boolean isDebit = (check & 1) != 0;
+                if (check != checkWord(transactionId, accountId, amount, isDebit, timestamp)) {
+                    long record = (position + offset) / RECORD_BYTES;
+                    if (record < committed) {
+                        throw new IOException("journal record " + record + " is corrupt, but "
+                            + committed + " records were committed");
+                    }
+                    position += offset;
+                    break scan;
+                }
+                history.add(transactionId, accountId, amount, isDebit, timestamp);
+            }
+            position += length;
+        }
+
+        // stale records behind a torn one must not reappear once new records fill the gap
+        channel.truncate(HEADER_BYTES + position);
+        recordCount = position / RECORD_BYTES;
+        commit();
+        replayed = true;
+        return recordCount;
+    }
+
+    void append(Transaction txn) {
+        if (!replayed) {
+            throw new IllegalStateException("journal must be replayed before appending");
+        }
+        try {
+            if (chunk == null || !chunk.hasRemaining()) {
+                mapNextChunk();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        // the check word goes last, so a record torn mid-write fails its checksum
+        chunk.putLong(txn.timestamp);
+        chunk.putInt(txn.transactionId);
+        chunk.putInt(txn.accountId);
+        chunk.putInt(txn.amount);
+        chunk.putInt(checkWord(txn.transactionId, txn.accountId, txn.amount, txn.isDebit, txn.timestamp));
+        recordCount++;
+        if (++unforcedRecords >= forceInterval) {
+            force();
+        }
+    }
+
+    long getRecordCount() {
+        return recordCount;
+    }
+
+    void force() {
+        if (chunk != null && unforcedRecords > 0) {
+            chunk.force();
+            commit();
+        }
+        unforcedRecords = 0;
+    }
+
+    /**
+     * Commits the appended records and drops the preallocated space after them. A journal that
+     * was never replayed, for instance because replay refused it, is closed untouched.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            force();
+            if (replayed) {
+                chunk = null;
+                channel.truncate(HEADER_BYTES + recordCount * RECORD_BYTES);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void mapNextChunk() throws IOException {
+        force();
+        chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + recordCount * RECORD_BYTES, chunkBytes);
+        chunk.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(0).putLong(0).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(false);
+    }
+
+    private void commit() {
+        header.putLong(COMMITTED_OFFSET, recordCount);
+        header.force();
+    }
+
+    private void checkHeader(long fileSize) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                break;
+            }
+        }
+        if (fileSize < HEADER_BYTES || header.getInt(0) != MAGIC) {
+            throw new IOException("not a transaction journal, or written before journals had a header; "
+                + "move it aside to start a new journal");
+        }
+        if (header.getInt(4) != VERSION || header.getInt(8) != RECORD_BYTES) {
+            throw new IOException("unsupported journal version " + header.getInt(4)
+                + " with " + header.getInt(8) + "-byte records, expected version " + VERSION);
+        }
+    }
+
+    static int checkWord(int transactionId, int accountId, int amount, boolean isDebit, long timestamp) {
+        int h = 0x7F4A7C15;
+        h = (h ^ (int) timestamp) * 0x9E3779B9;
+        h = (h ^ (int) (timestamp >>> 32)) * 0x9E3779B9;
+        h = (h ^ transactionId) * 0x9E3779B9;
+        h = (h ^ accountId) * 0x9E3779B9;
+        h = (h ^ amount) * 0x9E3779B9;
+        h = (h ^ (isDebit ? 1 : 0)) * 0x9E3779B9;
+        h ^= h >>> 15;
+        // bit 1 is always set, so an all-zero record never validates
+        return ((h | 2) & ~1) | (isDebit ? 1 : 0);
+    }
+}
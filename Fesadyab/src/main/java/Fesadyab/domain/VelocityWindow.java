@@ -0,0 +1,158 @@
+package Fesadyab.domain;
+
+import java.util.Arrays;
+
+/**
+ * Transaction count and amount per account over a sliding event-time window.
+ * <p>
+ * Each account owns a ring of equal-width time buckets that together span the window. A
+ * bucket is recycled when a newer event maps to its ring position, so an update is O(1)
+ * and each account holds {@code bucketCount} buckets however many transactions it sees.
+ * Events older than the window that would land in a recycled bucket are dropped.
+ */
+class VelocityWindow {
+    private static final int DEFAULT_ACCOUNTS = 16;
+
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    // open-addressing map from account id to ring number; ring numbers are stored plus one
+    private int[] accountIds;
+    private int[] rings;
+    private int accountCount;
+
+    // ring r occupies [r * bucketCount, (r + 1) * bucketCount) of the bucket columns
+    private long[] bucketEpochs;
+    private int[] bucketCounts;
+    private long[] bucketSums;
+
+    VelocityWindow(long windowMillis, int bucketCount) {
+        if (windowMillis <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("window and bucket count must be positive");
+        }
+        this.windowMillis = windowMillis;
+        this.bucketCount = bucketCount;
+        this.bucketMillis = (windowMillis + bucketCount - 1) / bucketCount;
+        accountIds = new int[DEFAULT_ACCOUNTS];
+        rings = new int[DEFAULT_ACCOUNTS];
+        bucketEpochs = new long[DEFAULT_ACCOUNTS * bucketCount];
+        bucketCounts = new int[DEFAULT_ACCOUNTS * bucketCount];
+        bucketSums = new long[DEFAULT_ACCOUNTS * bucketCount];
+    }
+
+    void add(int accountId, long timestamp, int amount) {
+        int ring = ringOf(accountId, true);
+        long epoch = Math.floorDiv(timestamp, bucketMillis);
+        int bucket = ring * bucketCount + (int) Math.floorMod(epoch, bucketCount);
+        if (bucketCounts[bucket] == 0 || bucketEpochs[bucket] < epoch) {
+            bucketEpochs[bucket] = epoch;
+            bucketCounts[bucket] = 0;
+            bucketSums[bucket] = 0;
+        } else if (bucketEpochs[bucket] > epoch) {
+            return;
+        }
+        bucketCounts[bucket]++;
+        bucketSums[bucket] += amount;
+    }
+
+    /**
+     * Number of the account's transactions in the window that ends at {@code now}.
+     */
+    int count(int accountId, long now) {
+        int ring = ringOf(accountId, false);
+        if (ring < 0) {
+            return 0;
+        }
+        long newest = Math.floorDiv(now, bucketMillis);
+        var count = 0;
+        for (int bucket = ring * bucketCount; bucket < (ring + 1) * bucketCount; bucket++) {
+            if (bucketCounts[bucket] != 0 && isLive(bucketEpochs[bucket], newest)) {
+                count += bucketCounts[bucket];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sum of the account's amounts in the window that ends at {@code now}.
+     */
+    long sum(int accountId, long now) {
+        int ring = ringOf(accountId, false);
+        if (ring < 0) {
+            return 0;
+        }
+        long newest = Math.floorDiv(now, bucketMillis);
+        var sum = 0L;
+        for (int bucket = ring * bucketCount; bucket < (ring + 1) * bucketCount; bucket++) {
+            if (bucketCounts[bucket] != 0 && isLive(bucketEpochs[bucket], newest)) {
+                sum += bucketSums[bucket];
+            }
+        }
+        return sum;
+    }
+
+    long getWindowMillis() {
+        return windowMillis;
+    }
+
+    long memoryFootprint() {
+        return 8L * accountIds.length + 20L * bucketCounts.length;
+    }
+
+    private boolean isLive(long epoch, long newest) {
+        return epoch <= newest && epoch > newest - bucketCount;
+    }
+
+    private int ringOf(int accountId, boolean create) {
+        int mask = accountIds.length - 1;
+        int h = accountId * 0x9E3779B9;
+        int i = (h ^ (h >>> 16)) & mask;
+        while (rings[i] != 0) {
+            if (accountIds[i] == accountId) {
+                return rings[i] - 1;
+            }
+            i = (i + 1) & mask;
+        }
+        if (!create) {
+            return -1;
+        }
+
+        int ring = accountCount++;
+        accountIds[i] = accountId;
+        rings[i] = ring + 1;
+        if (bucketCounts.length < accountCount * bucketCount) {
+            growBuckets();
+        }
+        if (accountCount > accountIds.length >> 1) {
+            rehash(accountIds.length << 1);
+        }
+        return ring;
+    }
+
+    private void growBuckets() {
+        int length = bucketCounts.length << 1;
+        bucketEpochs = Arrays.copyOf(bucketEpochs, length);
+        bucketCounts = Arrays.copyOf(bucketCounts, length);
+        bucketSums = Arrays.copyOf(bucketSums, length);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldAccountIds = accountIds;
+        int[] oldRings = rings;
+        accountIds = new int[capacity];
+        rings = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldRings.length; j++) {
+            if (oldRings[j] != 0) {
+                int h = oldAccountIds[j] * 0x9E3779B9;
+                int i = (h ^ (h >>> 16)) & mask;
+                while (rings[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                accountIds[i] = oldAccountIds[j];
+                rings[i] = oldRings[j];
+            }
+        }
+    }
+}
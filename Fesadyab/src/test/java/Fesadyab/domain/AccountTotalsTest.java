@@ -0,0 +1,60 @@
+package Fesadyab.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class AccountTotalsTest {
+
+    @Test
+    void testUnknownAccountAveragesToZero() {
+        AccountTotals totals = new AccountTotals();
+        assertEquals(0, totals.average(7));
+        assertEquals(0, totals.count(7));
+    }
+
+    @Test
+    void testAverageTruncatesLikeIntegerDivision() {
+        AccountTotals totals = new AccountTotals();
+        totals.add(0, 1);
+        totals.add(0, 2);
+        totals.add(-5, -7);
+        totals.add(-5, 0);
+        assertEquals(1, totals.average(0));
+        assertEquals(-3, totals.average(-5));
+    }
+
+    @Test
+    void testSumDoesNotOverflow() {
+        AccountTotals totals = new AccountTotals();
+        for (int i = 0; i < 4; i++) {
+            totals.add(1, Integer.MAX_VALUE);
+        }
+        assertEquals(4L * Integer.MAX_VALUE, totals.sum(1));
+        assertEquals(Integer.MAX_VALUE, totals.average(1));
+    }
+
+    @Test
+    void testMatchesScanAcrossResizes() {
+        Random random = new Random(11);
+        AccountTotals totals = new AccountTotals();
+        Map<Integer, long[]> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int accountId = random.nextInt(5_000) - 100;
+            int amount = random.nextInt(10_000);
+            totals.add(accountId, amount);
+            long[] entry = expected.computeIfAbsent(accountId, k -> new long[2]);
+            entry[0] += amount;
+            entry[1]++;
+        }
+        assertEquals(expected.size(), totals.size());
+        expected.forEach((accountId, entry) -> {
+            assertEquals(entry[0], totals.sum(accountId));
+            assertEquals(entry[1], totals.count(accountId));
+            assertEquals((int) (entry[0] / entry[1]), totals.average(accountId));
+        });
+    }
+}
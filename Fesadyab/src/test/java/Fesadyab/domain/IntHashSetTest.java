@@ -0,0 +1,52 @@
+package Fesadyab.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class IntHashSetTest {
+
+    @Test
+    void testAddAndContains() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(43));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void testZeroAndNegativeKeys() {
+        IntHashSet set = new IntHashSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(-1));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-1));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void testMatchesHashSetAcrossResizes() {
+        Random random = new Random(7);
+        IntHashSet set = new IntHashSet(4);
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(50_000) - 25_000;
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        for (int key = -30_000; key < 30_000; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package Fesadyab.domain;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class RecentIdSetTest {
+
+    @Test
+    void testUnlimitedKeepsEverything() {
+        RecentIdSet set = new RecentIdSet();
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i, i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.contains(i));
+        }
+    }
+
+    @Test
+    void testKeepsAtLeastMaxKeysAndAtMostTwice() {
+        RecentIdSet set = new RecentIdSet();
+        set.setLimits(100, Long.MAX_VALUE);
+        for (int i = 0; i < 1000; i++) {
+            set.add(i, 0);
+            for (int recent = Math.max(0, i - 99); recent <= i; recent++) {
+                assertTrue(set.contains(recent));
+            }
+            assertTrue(set.size() <= 200);
+        }
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    void testKeepsKeysWithinMaxAge() {
+        RecentIdSet set = new RecentIdSet();
+        set.setLimits(Integer.MAX_VALUE, 1_000);
+        for (int i = 0; i < 1000; i++) {
+            set.add(i, i * 10L);
+            for (int recent = Math.max(0, i - 100); recent <= i; recent++) {
+                assertTrue(set.contains(recent));
+            }
+        }
+        assertFalse(set.contains(0));
+    }
+}
@@ -0,0 +1,71 @@
+package Fesadyab.domain;
+
+import static Fesadyab.domain.TransactionEngineTest.createTransaction;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ShardedTransactionEngineTest {
+
+    private static List<Transaction> randomTransactions(long seed, int count, int maxAmount, boolean uniqueIds) {
+        Random random = new Random(seed);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(createTransaction(random.nextInt(50), uniqueIds ? i : random.nextInt(count),
+                1 + random.nextInt(maxAmount), random.nextBoolean()));
+        }
+        return transactions;
+    }
+
+    @Test
+    void testSingleShardScoresLikeTransactionEngine() {
+        List<Transaction> transactions = randomTransactions(3, 5000, 3000, false);
+        TransactionEngine engine = new TransactionEngine();
+        int[] expected = engine.addTransactionsAndDetectFraud(transactions);
+
+        try (ShardedTransactionEngine sharded = new ShardedTransactionEngine(1)) {
+            assertArrayEquals(expected, sharded.addTransactionsAndDetectFraud(transactions));
+        }
+    }
+
+    @Test
+    void testShardsKeepPerAccountOrder() {
+        // amounts never exceed the threshold and ids never repeat,
+        // so scores depend only on each account's own history
+        List<Transaction> transactions = randomTransactions(4, 20000, 1000, true);
+        TransactionEngine engine = new TransactionEngine();
+        int[] expected = engine.addTransactionsAndDetectFraud(transactions);
+
+        try (ShardedTransactionEngine sharded = new ShardedTransactionEngine(8)) {
+            assertArrayEquals(expected, sharded.addTransactionsAndDetectFraud(transactions));
+            for (int accountId = 0; accountId < 50; accountId++) {
+                assertEquals(engine.getAverageTransactionAmountByAccount(accountId),
+                    sharded.getAverageTransactionAmountByAccount(accountId));
+            }
+        }
+    }
+
+    @Test
+    void testTransactionIdIsDeduplicatedAcrossShards() {
+        try (ShardedTransactionEngine sharded = new ShardedTransactionEngine(4)) {
+            for (int id = 0; id < 1000; id++) {
+                sharded.addTransactionAndDetectFraud(createTransaction(1, id, 100, false));
+                sharded.addTransactionAndDetectFraud(createTransaction(2, id, 300, false));
+            }
+            int average1 = sharded.getAverageTransactionAmountByAccount(1);
+            int average2 = sharded.getAverageTransactionAmountByAccount(2);
+            assertTrue(average1 == 0 || average1 == 100);
+            assertTrue(average2 == 0 || average2 == 300);
+
+            for (int id = 0; id < 1000; id++) {
+                assertEquals(0, sharded.addTransactionAndDetectFraud(createTransaction(3, id, 5000, true)).join());
+            }
+            assertEquals(0, sharded.getAverageTransactionAmountByAccount(3));
+        }
+    }
+}
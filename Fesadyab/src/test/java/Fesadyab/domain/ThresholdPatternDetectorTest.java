@@ -0,0 +1,60 @@
+package Fesadyab.domain;
+
+import static Fesadyab.domain.TransactionEngineTest.createTransaction;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ThresholdPatternDetectorTest {
+
+    @Test
+    void testEmptyHistoryHasNoPattern() {
+        ThresholdPatternDetector detector = new ThresholdPatternDetector(1000);
+        assertEquals(0, detector.getPattern());
+    }
+
+    @Test
+    void testBrokenPatternStaysBroken() {
+        ThresholdPatternDetector detector = new ThresholdPatternDetector(1000);
+        detector.accept(createTransaction(1, 1, 1500, false));
+        detector.accept(createTransaction(1, 2, 2000, false));
+        assertEquals(500, detector.getPattern());
+        detector.accept(createTransaction(1, 3, 2100, false));
+        assertEquals(0, detector.getPattern());
+        detector.accept(createTransaction(1, 4, 2500, false));
+        assertEquals(0, detector.getPattern());
+    }
+
+    @Test
+    void testMatchesHistoryScan() {
+        Random random = new Random(13);
+        for (int run = 0; run < 2000; run++) {
+            TransactionEngine engine = new TransactionEngine();
+            int last = 900 + random.nextInt(300);
+            int step = random.nextInt(3) * 100;
+            for (int i = 0; i < 40; i++) {
+                int amount = random.nextInt(4) == 0 ? 800 + random.nextInt(600) : last + step;
+                if (amount > engine.THRESHOLD) {
+                    last = amount;
+                }
+                int transactionId = random.nextInt(30);
+                engine.transactionHistory.add(createTransaction(random.nextInt(3), transactionId, amount, false));
+                assertEquals(engine.scanTransactionPatternAboveThreshold(engine.THRESHOLD),
+                    engine.getTransactionPatternAboveThreshold(engine.THRESHOLD));
+            }
+        }
+    }
+
+    @Test
+    void testThresholdChangeReplaysHistory() {
+        TransactionEngine engine = new TransactionEngine();
+        engine.transactionHistory.add(createTransaction(1, 1, 100, false));
+        engine.transactionHistory.add(createTransaction(1, 2, 600, false));
+        engine.transactionHistory.add(createTransaction(1, 3, 1100, false));
+        assertEquals(1000, engine.getTransactionPatternAboveThreshold(engine.THRESHOLD));
+        engine.THRESHOLD = 500;
+        assertEquals(500, engine.getTransactionPatternAboveThreshold(engine.THRESHOLD));
+        assertEquals(engine.scanTransactionPatternAboveThreshold(50), engine.getTransactionPatternAboveThreshold(50));
+    }
+}
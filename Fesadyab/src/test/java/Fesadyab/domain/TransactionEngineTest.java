@@ -1,11 +1,18 @@
 package Fesadyab.domain;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -54,6 +61,14 @@ class TransactionEngineTest
         assertEquals(0 , result);
     }
 
+    @Test
+    void testAverageFollowsAppendedHistory() {
+        assertEquals(34, transactionEngine.getAverageTransactionAmountByAccount(transaction1.getAccountId()));
+        transactionEngine.transactionHistory.add(createTransaction(transaction1.getAccountId(), 600, 2, true));
+        assertEquals(26, transactionEngine.getAverageTransactionAmountByAccount(transaction1.getAccountId()));
+        assertEquals(0, transactionEngine.getAverageTransactionAmountByAccount(99));
+    }
+
     @Test
     void testAddNewTransactionWithNewAccountId() {
         Transaction transactionWithNewAccountId = createTransaction(20, 101, 200, true);
@@ -138,6 +153,158 @@ class TransactionEngineTest
         assertEquals(0,result);
     }
 
+    @Test
+    void testBatchScoresMatchSequentialScores() {
+        Random random = new Random(5);
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            batch.add(createTransaction(random.nextInt(20), random.nextInt(1500), 500 + random.nextInt(1500), random.nextBoolean()));
+        }
+        TransactionEngine sequentialEngine = new TransactionEngine();
+        sequentialEngine.transactionHistory.addAll(transactionEngine.transactionHistory);
+        int[] expected = batch.stream().mapToInt(sequentialEngine::addTransactionAndDetectFraud).toArray();
+
+        int[] result = transactionEngine.addTransactionsAndDetectFraud(batch);
+        assertArrayEquals(expected, result);
+        assertEquals(sequentialEngine.transactionHistory, transactionEngine.transactionHistory);
+    }
+
+    @Test
+    void testBatchSkipsDuplicatesWithinBatch() {
+        Transaction t1 = createTransaction(transaction1.getAccountId(), 900, 5000, true);
+        Transaction t2 = createTransaction(transaction1.getAccountId(), 900, 5000, true);
+        int[] result = transactionEngine.addTransactionsAndDetectFraud(List.of(t1, t2));
+        assertArrayEquals(new int[]{4932, 0}, result);
+        assertEquals(6, transactionEngine.transactionHistory.size());
+    }
+
+    @Test
+    void testVelocityLimitFlagsBurstOfDebits() {
+        transactionEngine.transactionHistory.add(createTransaction(7, 2999, 1000, false));
+        transactionEngine.addVelocityLimit(Duration.ofMinutes(1), 3, 1_000_000);
+        int[] scores = new int[5];
+        for (int i = 0; i < 5; i++) {
+            Transaction t = createTransaction(7, 3000 + i, 10, true);
+            t.setTimestamp(i * 1_000L);
+            scores[i] = transactionEngine.addTransactionAndDetectFraud(t);
+        }
+        assertArrayEquals(new int[]{0, 0, 0, 10, 10}, scores);
+
+        Transaction later = createTransaction(7, 3010, 10, true);
+        later.setTimestamp(120_000L);
+        assertEquals(0, transactionEngine.addTransactionAndDetectFraud(later));
+    }
+
+    @Test
+    void testVelocityLimitCoversExistingHistory() {
+        for (int i = 0; i < 3; i++) {
+            Transaction t = createTransaction(8, 4000 + i, 400, true);
+            t.setTimestamp(1_000L);
+            transactionEngine.transactionHistory.add(t);
+        }
+        transactionEngine.addVelocityLimit(Duration.ofHours(1), 100, 1500);
+        Transaction t = createTransaction(8, 4010, 400, true);
+        t.setTimestamp(2_000L);
+        assertEquals(400, transactionEngine.addTransactionAndDetectFraud(t));
+    }
+
+    @Test
+    void testVelocityLimitIgnoresCredits() {
+        transactionEngine.addVelocityLimit(Duration.ofMinutes(1), 2, 500);
+        for (int i = 0; i < 5; i++) {
+            Transaction credit = createTransaction(9, 5000 + i, 400, false);
+            credit.setTimestamp(i * 1_000L);
+            assertEquals(0, transactionEngine.addTransactionAndDetectFraud(credit));
+        }
+        Transaction debit = createTransaction(9, 5010, 400, true);
+        debit.setTimestamp(6_000L);
+        assertEquals(0, transactionEngine.addTransactionAndDetectFraud(debit));
+        Transaction second = createTransaction(9, 5011, 400, true);
+        second.setTimestamp(7_000L);
+        assertEquals(400, transactionEngine.addTransactionAndDetectFraud(second));
+    }
+
+    private static List<Transaction> timedTransactions(long seed, int count) {
+        Random random = new Random(seed);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // every tenth transaction resends one of the previous 100 ids
+            int id = i > 0 && random.nextInt(10) == 0 ? i - 1 - random.nextInt(Math.min(i, 100)) : i;
+            Transaction t = createTransaction(random.nextInt(30), id, 1 + random.nextInt(2500), random.nextBoolean());
+            t.setTimestamp(i * 100L);
+            transactions.add(t);
+        }
+        return transactions;
+    }
+
+    @Test
+    void testRetentionDoesNotChangeScores() {
+        List<Transaction> transactions = timedTransactions(23, 20000);
+        int[] expected = new TransactionEngine().addTransactionsAndDetectFraud(transactions);
+
+        TransactionEngine bounded = new TransactionEngine();
+        bounded.setRetentionPolicy(RetentionPolicy.builder().maxCount(500).perAccountCap(40).build());
+        int[] result = transactions.stream().mapToInt(bounded::addTransactionAndDetectFraud).toArray();
+        assertArrayEquals(expected, result);
+        assertTrue(bounded.transactionHistory.size() <= 500 + 1024);
+    }
+
+    @Test
+    void testRetentionBoundsDuplicateDetection() {
+        engineWithPolicy(RetentionPolicy.builder().maxCount(10).build());
+        for (int i = 0; i < 5000; i++) {
+            transactionEngine.addTransactionAndDetectFraud(createTransaction(1, i, 10, false));
+        }
+        int before = transactionEngine.transactionHistory.size();
+        transactionEngine.addTransactionAndDetectFraud(createTransaction(1, 4995, 10, false));
+        assertEquals(before, transactionEngine.transactionHistory.size());
+        transactionEngine.addTransactionAndDetectFraud(createTransaction(1, 5, 10, false));
+        assertEquals(before + 1, transactionEngine.transactionHistory.size());
+    }
+
+    @Test
+    void testRetentionBoundsMemoryFootprint() {
+        engineWithPolicy(RetentionPolicy.builder().maxCount(1000).build());
+        for (int i = 0; i < 50_000; i++) {
+            transactionEngine.addTransactionAndDetectFraud(createTransaction(i % 50, i, 10, false));
+        }
+        long footprint = transactionEngine.getMemoryFootprint();
+        for (int i = 50_000; i < 500_000; i++) {
+            transactionEngine.addTransactionAndDetectFraud(createTransaction(i % 50, i, 10, false));
+        }
+        assertTrue(transactionEngine.getMemoryFootprint() <= footprint);
+    }
+
+    private void engineWithPolicy(RetentionPolicy policy) {
+        transactionEngine = new TransactionEngine();
+        transactionEngine.setRetentionPolicy(policy);
+    }
+
+    @Test
+    void testRetentionKeepsNewestRowsWithinLimits() {
+        TransactionEngine engine = new TransactionEngine();
+        List<Transaction> transactions = timedTransactions(29, 5000);
+        engine.addTransactionsAndDetectFraud(transactions);
+        long unboundedFootprint = engine.getMemoryFootprint();
+
+        engine.setRetentionPolicy(RetentionPolicy.builder().maxAge(Duration.ofSeconds(60)).perAccountCap(10).build());
+        TransactionHistory history = engine.transactionHistory;
+        Map<Integer, Integer> rowsByAccount = new HashMap<>();
+        for (int i = 0; i < history.size(); i++) {
+            assertTrue(history.timestampAt(i) >= 499_900 - 60_000);
+            rowsByAccount.merge(history.accountIdAt(i), 1, Integer::sum);
+            if (i > 0) {
+                assertTrue(history.timestampAt(i - 1) < history.timestampAt(i));
+            }
+        }
+        assertTrue(rowsByAccount.values().stream().allMatch(count -> count <= 10));
+        assertTrue(engine.getMemoryFootprint() < unboundedFootprint);
+
+        engine.setRetentionPolicy(RetentionPolicy.builder().maxCount(5).build());
+        assertEquals(5, history.size());
+        assertEquals(499_900, history.timestampAt(4));
+    }
+
     @Test
     void testTransactionAmountIsLessThanThresholdInGetTransactionPatternAboveThreshold(){
         Transaction lessThan = createTransaction(transaction4.getAccountId(), 1234 , 1, false);
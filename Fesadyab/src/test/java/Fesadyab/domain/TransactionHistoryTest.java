@@ -0,0 +1,81 @@
+package Fesadyab.domain;
+
+import static Fesadyab.domain.TransactionEngineTest.createTransaction;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class TransactionHistoryTest {
+
+    @Test
+    void testRowsRoundTripThroughColumns() {
+        Random random = new Random(17);
+        List<Transaction> expected = new ArrayList<>();
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 1000; i++) {
+            Transaction txn = createTransaction(random.nextInt(), random.nextInt(), random.nextInt(), random.nextBoolean());
+            txn.setTimestamp(random.nextLong());
+            expected.add(txn);
+            history.add(txn);
+        }
+
+        assertEquals(expected.size(), history.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Transaction txn = history.get(i);
+            assertEquals(expected.get(i).getTransactionId(), txn.getTransactionId());
+            assertEquals(expected.get(i).getAccountId(), txn.getAccountId());
+            assertEquals(expected.get(i).getAmount(), txn.getAmount());
+            assertEquals(expected.get(i).isDebit(), txn.isDebit());
+            assertEquals(expected.get(i).getTimestamp(), txn.getTimestamp());
+        }
+    }
+
+    @Test
+    void testDebitFlagsAcrossWordBoundary() {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 130; i++) {
+            history.add(createTransaction(1, i, 10, i % 63 == 0));
+        }
+        assertTrue(history.isDebit(63));
+        assertFalse(history.isDebit(64));
+        assertTrue(history.isDebit(126));
+        assertFalse(history.isDebit(129));
+    }
+
+    @Test
+    void testCompactKeepsSelectedRowsInOrder() {
+        TransactionHistory history = new TransactionHistory();
+        List<Transaction> expected = new ArrayList<>();
+        long[] keep = new long[(1000 >> 6) + 1];
+        for (int i = 0; i < 1000; i++) {
+            Transaction txn = createTransaction(i % 7, i, i, i % 3 == 0);
+            history.add(txn);
+            if (i % 5 == 0 || i > 990) {
+                keep[i >> 6] |= 1L << i;
+                expected.add(txn);
+            }
+        }
+
+        history.compact(keep);
+        assertEquals(expected, history);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).isDebit(), history.isDebit(i));
+        }
+        history.add(createTransaction(1, 5000, 1, false));
+        assertFalse(history.isDebit(expected.size()));
+    }
+
+    @Test
+    void testHistoryIsAppendOnly() {
+        TransactionHistory history = new TransactionHistory();
+        history.add(createTransaction(1, 1, 10, false));
+        assertThrows(UnsupportedOperationException.class, () -> history.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(1));
+    }
+}
@@ -0,0 +1,252 @@
+package Fesadyab.domain;
+
+import static Fesadyab.domain.TransactionEngineTest.createTransaction;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TransactionJournalTest {
+    private static final int CHUNK_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    private static List<Transaction> randomTransactions(long seed, int count) {
+        Random random = new Random(seed);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Transaction txn = createTransaction(random.nextInt(20), i, random.nextInt(3000), random.nextBoolean());
+            txn.setTimestamp(random.nextLong());
+            transactions.add(txn);
+        }
+        return transactions;
+    }
+
+    private TransactionHistory writeAndReplay(Path path, List<Transaction> transactions) throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            journal.replay(new TransactionHistory());
+            transactions.forEach(journal::append);
+        }
+        TransactionHistory history = new TransactionHistory();
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            journal.replay(history);
+        }
+        return history;
+    }
+
+    @Test
+    void testReplayReturnsAppendedRecordsAcrossChunks() throws IOException {
+        List<Transaction> transactions = randomTransactions(1, 500);
+        TransactionHistory history = writeAndReplay(directory.resolve("journal"), transactions);
+
+        assertEquals(transactions, history);
+        for (int i = 0; i < transactions.size(); i++) {
+            assertEquals(transactions.get(i).getAmount(), history.amountAt(i));
+            assertEquals(transactions.get(i).isDebit(), history.isDebit(i));
+            assertEquals(transactions.get(i).getTimestamp(), history.timestampAt(i));
+        }
+    }
+
+    // as if the process died after appending records that no force() had committed yet
+    private static void setCommitted(Path path, long committed) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(TransactionJournal.COMMITTED_OFFSET);
+            file.writeLong(Long.reverseBytes(committed));
+        }
+    }
+
+    private static long readCommitted(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            file.seek(TransactionJournal.COMMITTED_OFFSET);
+            return Long.reverseBytes(file.readLong());
+        }
+    }
+
+    @Test
+    void testForceCommitsRecordCount() throws IOException {
+        Path path = directory.resolve("journal");
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            journal.replay(new TransactionHistory());
+            randomTransactions(1, 10).forEach(journal::append);
+            assertEquals(8, readCommitted(path));
+        }
+        assertEquals(10, readCommitted(path));
+    }
+
+    @Test
+    void testCloseTruncatesPreallocatedChunk() throws IOException {
+        Path path = directory.resolve("journal");
+        try (TransactionJournal journal = TransactionJournal.open(path)) {
+            journal.replay(new TransactionHistory());
+            journal.append(createTransaction(1, 1, 10, true));
+        }
+        assertEquals(TransactionJournal.HEADER_BYTES + TransactionJournal.RECORD_BYTES, Files.size(path));
+    }
+
+    @Test
+    void testPreallocatedTailIsNotReplayedOrSized() throws IOException {
+        Path path = directory.resolve("journal");
+        writeAndReplay(path, randomTransactions(5, 3));
+        // as if the process died with a freshly mapped chunk still zero-filled
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(64 << 20);
+        }
+
+        TransactionHistory history = new TransactionHistory();
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertEquals(3, journal.replay(history));
+        }
+        assertEquals(randomTransactions(5, 3), history);
+        assertTrue(history.memoryFootprint() < 4096);
+        assertEquals(TransactionJournal.HEADER_BYTES + 3 * TransactionJournal.RECORD_BYTES, Files.size(path));
+    }
+
+    @Test
+    void testTornTrailingRecordIsDropped() throws IOException {
+        Path path = directory.resolve("journal");
+        writeAndReplay(path, randomTransactions(2, 10));
+        setCommitted(path, 8);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(TransactionJournal.HEADER_BYTES + 9 * TransactionJournal.RECORD_BYTES + 8);
+            file.writeInt(12345);
+        }
+
+        TransactionHistory history = new TransactionHistory();
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertEquals(9, journal.replay(history));
+        }
+        assertEquals(randomTransactions(2, 9), history);
+        assertEquals(9, readCommitted(path));
+    }
+
+    @Test
+    void testCorruptCommittedRecordIsRefusedAndKept() throws IOException {
+        Path path = directory.resolve("journal");
+        writeAndReplay(path, randomTransactions(2, 10));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(TransactionJournal.HEADER_BYTES + 4 * TransactionJournal.RECORD_BYTES + 8);
+            file.writeInt(12345);
+        }
+        byte[] before = Files.readAllBytes(path);
+
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertThrows(IOException.class, () -> journal.replay(new TransactionHistory()));
+        }
+        assertArrayEquals(before, Files.readAllBytes(path));
+    }
+
+    @Test
+    void testTruncatedCommittedRecordsAreRefused() throws IOException {
+        Path path = directory.resolve("journal");
+        writeAndReplay(path, randomTransactions(4, 3));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(TransactionJournal.HEADER_BYTES + 2 * TransactionJournal.RECORD_BYTES);
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertThrows(IOException.class, () -> journal.replay(new TransactionHistory()));
+        }
+    }
+
+    @Test
+    void testRecordsAfterTornRecordDoNotReappear() throws IOException {
+        Path path = directory.resolve("journal");
+        writeAndReplay(path, randomTransactions(3, 10));
+        setCommitted(path, 3);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(TransactionJournal.HEADER_BYTES + 4 * TransactionJournal.RECORD_BYTES);
+            file.writeInt(-1);
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertEquals(4, journal.replay(new TransactionHistory()));
+            journal.append(createTransaction(1, 100, 10, false));
+        }
+        TransactionHistory history = new TransactionHistory();
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertEquals(5, journal.replay(history));
+        }
+        assertEquals(100, history.transactionIdAt(4));
+    }
+
+    @Test
+    void testPartialRecordAtEndOfFileIsIgnored() throws IOException {
+        Path path = directory.resolve("journal");
+        writeAndReplay(path, randomTransactions(4, 3));
+        setCommitted(path, 2);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(TransactionJournal.HEADER_BYTES + 3 * TransactionJournal.RECORD_BYTES - 5);
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertEquals(2, journal.replay(new TransactionHistory()));
+        }
+    }
+
+    @Test
+    void testHeaderlessJournalIsRefusedAndKept() throws IOException {
+        Path path = directory.resolve("journal");
+        byte[] legacy = new byte[10 * 16];
+        new Random(6).nextBytes(legacy);
+        Files.write(path, legacy);
+
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertThrows(IOException.class, () -> journal.replay(new TransactionHistory()));
+        }
+        assertArrayEquals(legacy, Files.readAllBytes(path));
+    }
+
+    @Test
+    void testOtherVersionIsRefusedAndKept() throws IOException {
+        Path path = directory.resolve("journal");
+        writeAndReplay(path, randomTransactions(7, 10));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(4);
+            file.writeInt(Integer.reverseBytes(TransactionJournal.VERSION + 1));
+        }
+        byte[] before = Files.readAllBytes(path);
+
+        try (TransactionJournal journal = TransactionJournal.open(path, CHUNK_BYTES, 8)) {
+            assertThrows(IOException.class, () -> journal.replay(new TransactionHistory()));
+        }
+        assertArrayEquals(before, Files.readAllBytes(path));
+    }
+
+    @Test
+    void testAppendBeforeReplayIsRejected() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(directory.resolve("journal"), CHUNK_BYTES, 8)) {
+            assertThrows(IllegalStateException.class, () -> journal.append(createTransaction(1, 1, 1, false)));
+        }
+    }
+
+    @Test
+    void testRecoveredEngineScoresLikeUninterruptedEngine() throws IOException {
+        Path path = directory.resolve("engine.journal");
+        List<Transaction> transactions = randomTransactions(5, 2000);
+        List<Transaction> first = transactions.subList(0, 1200);
+        List<Transaction> second = transactions.subList(1200, transactions.size());
+
+        TransactionEngine uninterrupted = new TransactionEngine();
+        uninterrupted.addTransactionsAndDetectFraud(first);
+        int[] expected = uninterrupted.addTransactionsAndDetectFraud(second);
+
+        try (TransactionEngine engine = TransactionEngine.recover(path)) {
+            engine.addTransactionsAndDetectFraud(first);
+        }
+        try (TransactionEngine engine = TransactionEngine.recover(path)) {
+            assertEquals(first.size(), engine.transactionHistory.size());
+            assertArrayEquals(expected, engine.addTransactionsAndDetectFraud(second));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package Fesadyab.domain;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -33,6 +34,13 @@ public class TransactionTest {
         assertFalse(isEqual);
     }
 
+    @Test
+    void testEqualTransactionsHaveEqualHashCodes() {
+        Transaction t1 = createTransaction(1, 1234, 100, false);
+        Transaction t2 = createTransaction(2, 1234, 500, true);
+        assertEquals(t1.hashCode(), t2.hashCode());
+    }
+
     @Test
     void testCompareTransactionWithAnotherObject() {
         Transaction t1 = createTransaction(1, 1234, 100, false);
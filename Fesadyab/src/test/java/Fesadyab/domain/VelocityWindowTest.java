@@ -0,0 +1,68 @@
+package Fesadyab.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class VelocityWindowTest {
+    private static final long MINUTE = 60_000;
+
+    @Test
+    void testCountsOnlyTheTrailingWindow() {
+        VelocityWindow window = new VelocityWindow(MINUTE, 60);
+        window.add(1, 0, 100);
+        window.add(1, 30_000, 200);
+        window.add(1, 59_000, 300);
+
+        assertEquals(3, window.count(1, 59_999));
+        assertEquals(600, window.sum(1, 59_999));
+        assertEquals(2, window.count(1, 60_000));
+        assertEquals(1, window.count(1, 90_000));
+        assertEquals(0, window.count(1, 119_000));
+        assertEquals(0, window.count(2, 59_000));
+    }
+
+    @Test
+    void testRecycledBucketDropsStaleEvents() {
+        VelocityWindow window = new VelocityWindow(MINUTE, 60);
+        window.add(1, 5_000, 100);
+        window.add(1, 65_000, 200);
+        window.add(1, 5_500, 400);
+
+        assertEquals(1, window.count(1, 65_000));
+        assertEquals(200, window.sum(1, 65_000));
+    }
+
+    @Test
+    void testMatchesBruteForceAcrossAccounts() {
+        Random random = new Random(19);
+        VelocityWindow window = new VelocityWindow(MINUTE, 60);
+        List<long[]> events = new ArrayList<>();
+        long now = 0;
+        for (int i = 0; i < 20_000; i++) {
+            now += random.nextInt(50);
+            int accountId = random.nextInt(500) - 250;
+            int amount = random.nextInt(1000);
+            window.add(accountId, now, amount);
+            events.add(new long[]{accountId, now, amount});
+
+            if (i % 97 == 0) {
+                int probe = (int) events.get(random.nextInt(events.size()))[0];
+                long bucketStart = (now / 1000 - 59) * 1000;
+                long count = 0;
+                long sum = 0;
+                for (long[] event : events) {
+                    if (event[0] == probe && event[1] >= bucketStart && event[1] <= now) {
+                        count++;
+                        sum += event[2];
+                    }
+                }
+                assertEquals(count, window.count(probe, now));
+                assertEquals(sum, window.sum(probe, now));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package mizdooni.benchmark;
+
+import mizdooni.exceptions.TableNotFound;
+import mizdooni.model.Reservation;
+import mizdooni.model.Restaurant;
+import mizdooni.model.User;
+import mizdooni.service.ReservationService;
+import mizdooni.service.SessionStore;
+import mizdooni.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReservationServiceBenchmark {
+    @Param({"1000", "10000"})
+    int restaurants;
+
+    @Param({"10"})
+    int tablesPerRestaurant;
+
+    @Param({"10", "200"})
+    int reservationsPerTable;
+
+    private ReservationService reservationService;
+    private List<Restaurant> restaurantList;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticDatabase data = new SyntheticDatabase()
+                .restaurants(restaurants)
+                .tablesPerRestaurant(tablesPerRestaurant)
+                .reservationsPerTable(reservationsPerTable)
+                .reviewsPerRestaurant(0)
+                .build();
+        restaurantList = data.getRestaurants();
+        random = new Random(7);
+
+        UserService userService = new UserService();
+        ReflectionTestUtils.setField(userService, "db", data.getDatabase());
+        ReflectionTestUtils.setField(userService, "sessions", new SessionStore(Duration.ofDays(1)));
+        reservationService = new ReservationService();
+        ReflectionTestUtils.setField(reservationService, "db", data.getDatabase());
+        ReflectionTestUtils.setField(reservationService, "userService", userService);
+
+        // the current user is request scoped; bind a request to the benchmark thread and log a client in
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        User client = data.getClients().getFirst();
+        userService.login(client.getUsername(), "password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<LocalTime> getAvailableTimes() throws Exception {
+        Restaurant restaurant = restaurantList.get(random.nextInt(restaurantList.size()));
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(14));
+        return reservationService.getAvailableTimes(restaurant.getId(), 2, date);
+    }
+
+    @Benchmark
+    public Reservation reserveTable() throws Exception {
+        Restaurant restaurant = restaurantList.get(random.nextInt(restaurantList.size()));
+        int hours = SyntheticDatabase.CLOSES_AT.getHour() - SyntheticDatabase.OPENS_AT.getHour() + 1;
+        LocalDateTime datetime = LocalDate.now().plusDays(1 + random.nextInt(365))
+                .atTime(SyntheticDatabase.OPENS_AT.plusHours(random.nextInt(hours)));
+        try {
+            return reservationService.reserveTable(restaurant.getId(), 1 + random.nextInt(6), datetime);
+        } catch (TableNotFound ex) {
+            // a fully booked slot still exercises the whole table search
+            return null;
+        }
+    }
+}
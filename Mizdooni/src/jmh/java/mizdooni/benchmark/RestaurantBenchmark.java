@@ -0,0 +1,74 @@
+package mizdooni.benchmark;
+
+import mizdooni.model.Rating;
+import mizdooni.model.Restaurant;
+import mizdooni.model.RestaurantSearchFilter;
+import mizdooni.response.PagedList;
+import mizdooni.service.RestaurantService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RestaurantBenchmark {
+    @Param({"1000", "100000"})
+    int restaurants;
+
+    @Param({"10", "500"})
+    int reviewsPerRestaurant;
+
+    private RestaurantService restaurantService;
+    private List<Restaurant> restaurantList;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticDatabase data = new SyntheticDatabase()
+                .restaurants(restaurants)
+                .tablesPerRestaurant(1)
+                .reservationsPerTable(0)
+                .reviewsPerRestaurant(reviewsPerRestaurant)
+                .build();
+        restaurantList = data.getRestaurants();
+        random = new Random(11);
+
+        restaurantService = new RestaurantService();
+        ReflectionTestUtils.setField(restaurantService, "db", data.getDatabase());
+    }
+
+    @Benchmark
+    public PagedList<Restaurant> getRestaurantsSortedByRating() {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setSort("rating");
+        return restaurantService.getRestaurants(1 + random.nextInt(3), filter);
+    }
+
+    @Benchmark
+    public PagedList<Restaurant> getRestaurantsByTypeAndCity() {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setType(SyntheticDatabase.pick(SyntheticDatabase.TYPES, random));
+        filter.setLocation(SyntheticDatabase.pick(SyntheticDatabase.CITIES, random));
+        filter.setSort("reviews");
+        return restaurantService.getRestaurants(1, filter);
+    }
+
+    @Benchmark
+    public PagedList<Restaurant> getRestaurantsByName() {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setName("Restaurant " + random.nextInt(restaurants / 10 + 1));
+        return restaurantService.getRestaurants(1, filter);
+    }
+
+    @Benchmark
+    public Rating getAverageRating() {
+        return restaurantList.get(random.nextInt(restaurantList.size())).getAverageRating();
+    }
+}
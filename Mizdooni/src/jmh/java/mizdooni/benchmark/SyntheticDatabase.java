@@ -0,0 +1,154 @@
+package mizdooni.benchmark;
+
+import mizdooni.database.Database;
+import mizdooni.model.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded builder that fills a {@link Database} with synthetic restaurants, tables, reservations and reviews.
+ * Reservations take consecutive opening hours from tomorrow on, so they stay bookable-looking and never collide.
+ * The database starts from an empty data directory, so the bundled sample data never mixes in.
+ */
+public class SyntheticDatabase {
+    static final LocalTime OPENS_AT = LocalTime.of(8, 0);
+    static final LocalTime CLOSES_AT = LocalTime.of(23, 0);
+    static final String[] CITIES = {"Tehran", "Mashhad", "Isfahan", "Shiraz", "Tabriz", "Karaj", "Qom", "Ahvaz"};
+    static final String[] TYPES = {"Iranian", "Fast Food", "Pizza", "Burger", "Cafe", "Seafood", "Italian", "Chinese"};
+
+    private int restaurants = 1000;
+    private int tablesPerRestaurant = 10;
+    private int reservationsPerTable = 10;
+    private int reviewsPerRestaurant = 10;
+    private int clients = 1000;
+    private long seed = 42;
+
+    private Database db;
+    private List<User> clientList;
+    private List<Restaurant> restaurantList;
+
+    public SyntheticDatabase restaurants(int restaurants) {
+        this.restaurants = restaurants;
+        return this;
+    }
+
+    public SyntheticDatabase tablesPerRestaurant(int tablesPerRestaurant) {
+        this.tablesPerRestaurant = tablesPerRestaurant;
+        return this;
+    }
+
+    public SyntheticDatabase reservationsPerTable(int reservationsPerTable) {
+        this.reservationsPerTable = reservationsPerTable;
+        return this;
+    }
+
+    public SyntheticDatabase reviewsPerRestaurant(int reviewsPerRestaurant) {
+        this.reviewsPerRestaurant = reviewsPerRestaurant;
+        return this;
+    }
+
+    public SyntheticDatabase clients(int clients) {
+        this.clients = clients;
+        return this;
+    }
+
+    public SyntheticDatabase seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public SyntheticDatabase build() {
+        Random random = new Random(seed);
+        db = new Database(emptyDataDir().toString());
+        clientList = new ArrayList<>();
+        restaurantList = new ArrayList<>();
+
+        // every reviewer of a restaurant must be distinct, since a second review replaces the first
+        int clientCount = Math.max(clients, reviewsPerRestaurant);
+        for (int i = 0; i < clientCount; i++) {
+            User client = new User("client" + i, "password", "client" + i + "@mizdooni.ir",
+                    new Address("Iran", pick(CITIES, random), null), User.Role.client);
+            db.addUser(client);
+            clientList.add(client);
+        }
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        int hoursPerDay = CLOSES_AT.getHour() - OPENS_AT.getHour() + 1;
+        for (int i = 0; i < restaurants; i++) {
+            User manager = new User("manager" + i, "password", "manager" + i + "@mizdooni.ir",
+                    new Address("Iran", "Tehran", null), User.Role.manager);
+            db.addUser(manager);
+
+            Restaurant restaurant = new Restaurant("Restaurant " + i, manager, pick(TYPES, random), OPENS_AT, CLOSES_AT,
+                    "synthetic", new Address("Iran", pick(CITIES, random), "Street " + i), null);
+            db.addRestaurant(restaurant);
+            restaurantList.add(restaurant);
+
+            for (int t = 1; t <= tablesPerRestaurant; t++) {
+                Table table = new Table(t, restaurant.getId(), 2 + random.nextInt(7));
+                restaurant.addTable(table);
+                for (int r = 0; r < reservationsPerTable; r++) {
+                    LocalDateTime datetime = firstDay.plusDays(r / hoursPerDay)
+                            .atTime(OPENS_AT.plusHours(r % hoursPerDay));
+                    User client = clientList.get(random.nextInt(clientCount));
+                    Reservation reservation = new Reservation(client, restaurant, table, datetime);
+                    table.addReservation(reservation);
+                    client.addReservation(reservation);
+                }
+            }
+
+            int firstReviewer = random.nextInt(clientCount);
+            for (int v = 0; v < reviewsPerRestaurant; v++) {
+                User reviewer = clientList.get((firstReviewer + v) % clientCount);
+                restaurant.addReview(new Review(reviewer, rating(random), "synthetic", LocalDateTime.now()));
+            }
+        }
+        return this;
+    }
+
+    public Database getDatabase() {
+        return db;
+    }
+
+    public List<User> getClients() {
+        return clientList;
+    }
+
+    public List<Restaurant> getRestaurants() {
+        return restaurantList;
+    }
+
+    private static Path emptyDataDir() {
+        try {
+            Path dir = Files.createTempDirectory("mizdooni-benchmark");
+            dir.toFile().deleteOnExit();
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // squaring the uniform draw skews the choice towards the first entries, like real cities and cuisines
+    static String pick(String[] values, Random random) {
+        double r = random.nextDouble();
+        return values[(int) (r * r * values.length)];
+    }
+
+    private static Rating rating(Random random) {
+        Rating rating = new Rating();
+        rating.food = 1 + random.nextInt(5);
+        rating.service = 1 + random.nextInt(5);
+        rating.ambiance = 1 + random.nextInt(5);
+        rating.overall = 1 + random.nextInt(5);
+        return rating;
+    }
+}
@@ -1,5 +1,6 @@
 package mizdooni.controllers;
 
+import jakarta.servlet.http.HttpServletResponse;
 import mizdooni.model.Address;
 import mizdooni.model.User;
 import mizdooni.response.Response;
@@ -7,6 +8,7 @@ import mizdooni.response.ResponseException;
 import mizdooni.service.ServiceUtils;
 import mizdooni.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,6 +19,8 @@ import static mizdooni.controllers.ControllerUtils.PARAMS_MISSING;
 
 @RestController
 public class AuthenticationController {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Autowired
     private UserService userService;
 
@@ -30,7 +34,7 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login")
-    public Response login(@RequestBody Map<String, String> params) {
+    public Response login(@RequestBody Map<String, String> params, HttpServletResponse response) {
         String username = params.get("username");
         String password = params.get("password");
 
@@ -38,14 +42,16 @@ public class AuthenticationController {
             throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_MISSING);
         }
 
-        if (userService.login(username, password)) {
+        String token = userService.login(username, password);
+        if (token != null) {
+            response.setHeader(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token);
             return Response.ok("login successful", userService.getCurrentUser());
         }
         throw new ResponseException(HttpStatus.UNAUTHORIZED, "invalid username or password");
     }
 
     @PostMapping("/signup")
-    public Response signup(@RequestBody Map<String, Object> params) {
+    public Response signup(@RequestBody Map<String, Object> params, HttpServletResponse response) {
         if (!ControllerUtils.containsKeys(params, "username", "password", "email", "address", "role")) {
             throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_MISSING);
         }
@@ -71,7 +77,8 @@ public class AuthenticationController {
 
         try {
             userService.signup(username, password, email, address, role);
-            userService.login(username, password);
+            String token = userService.login(username, password);
+            response.setHeader(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token);
             return Response.ok("signup successful", userService.getCurrentUser());
         } catch (Exception ex) {
             throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
@@ -32,9 +32,16 @@ class RestaurantController {
     }
 
     @GetMapping("/restaurants")
-    public Response getRestaurants(@RequestParam int page, RestaurantSearchFilter filter) {
+    public Response getRestaurants(@RequestParam(required = false) Integer page,
+                                   @RequestParam(required = false) String cursor,
+                                   RestaurantSearchFilter filter) {
+        if (page == null && cursor == null) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_MISSING);
+        }
         try {
-            PagedList<Restaurant> restaurants = restaurantService.getRestaurants(page, filter);
+            PagedList<Restaurant> restaurants = cursor != null
+                    ? restaurantService.getRestaurants(cursor, filter)
+                    : restaurantService.getRestaurants(page, filter);
             return Response.ok("restaurants listed", restaurants);
         } catch (Exception ex) {
             throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
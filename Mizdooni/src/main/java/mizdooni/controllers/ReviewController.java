@@ -26,12 +26,19 @@ class ReviewController {
     private ReviewService reviewService;
 
     @GetMapping("/reviews/{restaurantId}")
-    public Response getReviews(@PathVariable int restaurantId, @RequestParam int page) {
+    public Response getReviews(@PathVariable int restaurantId,
+                               @RequestParam(required = false) Integer page,
+                               @RequestParam(required = false) String cursor) {
+        if (page == null && cursor == null) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_MISSING);
+        }
         try {
-            if(restaurantId < 1 || page < 0)
+            if(restaurantId < 1 || (page != null && page < 0))
                 throw new Exception();
             Restaurant restaurant = ControllerUtils.checkRestaurant(restaurantId, restaurantService);
-            PagedList<Review> reviews = reviewService.getReviews(restaurant.getId(), page);
+            PagedList<Review> reviews = cursor != null
+                    ? reviewService.getReviews(restaurant.getId(), cursor)
+                    : reviewService.getReviews(restaurant.getId(), page);
             String message = "reviews for restaurant (" + restaurantId + "): " + restaurant.getName();
             return Response.ok(message, reviews);
         }catch (ResponseException ex){
@@ -0,0 +1,176 @@
+package mizdooni.database;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Writes users.json, restaurants.json, tables.json and reviews.json at any scale, in the format DataLoader reads.
+ * The same seed always produces the same files. Cities and restaurant types follow a Zipf distribution,
+ * and the number of reviews a restaurant gets is skewed the same way.
+ * <p>
+ * Usage: {@code DataGenerator <output dir> <clients> <restaurants> [tables per restaurant] [reviews per restaurant] [seed]}
+ */
+public class DataGenerator {
+    private static final String[] CITIES = {"Tehran", "Mashhad", "Isfahan", "Karaj", "Shiraz", "Tabriz", "Qom", "Ahvaz",
+            "Kermanshah", "Urmia", "Rasht", "Zahedan", "Kerman", "Hamadan", "Yazd", "Ardabil", "Bandar Abbas", "Arak",
+            "Zanjan", "Sanandaj", "Qazvin", "Khorramabad", "Gorgan", "Sari", "Kish"};
+    private static final String[] TYPES = {"Iranian", "Fast Food", "Cafe", "Pizza", "Burger", "Kebab", "Italian",
+            "Seafood", "Traditional", "Chinese", "Vegetarian", "Indian", "Japanese", "Lebanese", "Steakhouse"};
+    private static final String[] COMMENTS = {"Great food, very crowded!", "Not bad but overrated.", "Lovely place.",
+            "Service was slow.", "Will come again.", "Too expensive for what you get."};
+
+    private final int clients;
+    private final int restaurants;
+    private final int tablesPerRestaurant;
+    private final int reviewsPerRestaurant;
+    private final Random random;
+    private final double[] cityWeights;
+    private final double[] typeWeights;
+
+    public DataGenerator(int clients, int restaurants, int tablesPerRestaurant, int reviewsPerRestaurant, long seed) {
+        this.clients = clients;
+        this.restaurants = restaurants;
+        this.tablesPerRestaurant = tablesPerRestaurant;
+        this.reviewsPerRestaurant = reviewsPerRestaurant;
+        this.random = new Random(seed);
+        this.cityWeights = zipf(CITIES.length);
+        this.typeWeights = zipf(TYPES.length);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("usage: DataGenerator <output dir> <clients> <restaurants> " +
+                    "[tables per restaurant] [reviews per restaurant] [seed]");
+            System.exit(1);
+        }
+        DataGenerator generator = new DataGenerator(
+                Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]),
+                args.length > 3 ? Integer.parseInt(args[3]) : 10,
+                args.length > 4 ? Integer.parseInt(args[4]) : 20,
+                args.length > 5 ? Long.parseLong(args[5]) : 42);
+        generator.write(Path.of(args[0]));
+    }
+
+    public void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        JsonFactory factory = new JsonFactory();
+        try (JsonGenerator users = open(factory, dir, JsonReader.File.USERS);
+             JsonGenerator restaurantsOut = open(factory, dir, JsonReader.File.RESTAURANTS);
+             JsonGenerator tables = open(factory, dir, JsonReader.File.TABLES);
+             JsonGenerator reviews = open(factory, dir, JsonReader.File.REVIEWS)) {
+            for (int i = 0; i < clients; i++) {
+                writeUser(users, "client" + i, "client", pick(CITIES, cityWeights));
+            }
+            for (int i = 0; i < restaurants; i++) {
+                String manager = "manager" + i;
+                String name = "Restaurant " + i;
+                writeUser(users, manager, "manager", pick(CITIES, cityWeights));
+                writeRestaurant(restaurantsOut, name, manager);
+                for (int t = 1; t <= tablesPerRestaurant; t++) {
+                    writeTable(tables, name, t);
+                }
+                writeReviews(reviews, name);
+            }
+            for (JsonGenerator out : new JsonGenerator[]{users, restaurantsOut, tables, reviews}) {
+                out.writeEndArray();
+            }
+        }
+    }
+
+    private static JsonGenerator open(JsonFactory factory, Path dir, JsonReader.File file) throws IOException {
+        JsonGenerator generator = factory.createGenerator(dir.resolve(file.toString()).toFile(), JsonEncoding.UTF8);
+        generator.writeStartArray();
+        return generator;
+    }
+
+    private void writeUser(JsonGenerator out, String username, String role, String city) throws IOException {
+        out.writeStartObject();
+        out.writeStringField("username", username);
+        out.writeStringField("password", "password");
+        out.writeStringField("email", username + "@mizdooni.ir");
+        out.writeStringField("role", role);
+        out.writeObjectFieldStart("address");
+        out.writeStringField("country", "Iran");
+        out.writeStringField("city", city);
+        out.writeEndObject();
+        out.writeEndObject();
+    }
+
+    private void writeRestaurant(JsonGenerator out, String name, String manager) throws IOException {
+        int opensAt = 8 + random.nextInt(6);
+        out.writeStartObject();
+        out.writeStringField("name", name);
+        out.writeStringField("managerUsername", manager);
+        out.writeStringField("type", pick(TYPES, typeWeights));
+        out.writeStringField("startTime", String.format("%02d:00", opensAt));
+        out.writeStringField("endTime", String.format("%02d:00", opensAt + 8 + random.nextInt(3)));
+        out.writeStringField("description", "A generated restaurant");
+        out.writeObjectFieldStart("address");
+        out.writeStringField("country", "Iran");
+        out.writeStringField("city", pick(CITIES, cityWeights));
+        out.writeStringField("street", "Street " + random.nextInt(1000));
+        out.writeEndObject();
+        out.writeNullField("image");
+        out.writeEndObject();
+    }
+
+    private void writeTable(JsonGenerator out, String restaurant, int tableNumber) throws IOException {
+        out.writeStartObject();
+        out.writeStringField("restaurantName", restaurant);
+        out.writeNumberField("tableNumber", tableNumber);
+        out.writeNumberField("seatsNumber", 2 + random.nextInt(7));
+        out.writeEndObject();
+    }
+
+    private void writeReviews(JsonGenerator out, String restaurant) throws IOException {
+        if (clients == 0) {
+            return;
+        }
+        // a few popular restaurants collect most reviews; the mean stays at reviewsPerRestaurant
+        double u = random.nextDouble();
+        int count = (int) Math.min(clients, Math.round(4 * reviewsPerRestaurant * u * u * u));
+        int firstReviewer = random.nextInt(clients);
+        for (int v = 0; v < count; v++) {
+            double overall = 1 + random.nextInt(9) / 2.0;
+            out.writeStartObject();
+            out.writeStringField("restaurantName", restaurant);
+            out.writeStringField("username", "client" + (firstReviewer + v) % clients);
+            out.writeNumberField("foodRate", rate(overall));
+            out.writeNumberField("serviceRate", rate(overall));
+            out.writeNumberField("ambianceRate", rate(overall));
+            out.writeNumberField("overallRate", overall);
+            out.writeStringField("comment", COMMENTS[random.nextInt(COMMENTS.length)]);
+            out.writeEndObject();
+        }
+    }
+
+    private double rate(double overall) {
+        return Math.max(0, Math.min(5, overall + random.nextInt(3) - 1));
+    }
+
+    private String pick(String[] values, double[] cumulativeWeights) {
+        int i = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return values[Math.min(values.length - 1, i < 0 ? -i - 1 : i)];
+    }
+
+    private static double[] zipf(int n) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+}
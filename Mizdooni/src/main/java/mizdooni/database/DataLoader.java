@@ -2,117 +2,192 @@ package mizdooni.database;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import mizdooni.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Loads the data files into a Database. The four files are parsed concurrently, then linked in phases:
+ * users and restaurants are added one by one in file order so their ids follow the files, and tables and
+ * reviews are attached per restaurant in parallel, each restaurant's rows keeping their file order.
+ */
 public class DataLoader {
+    private static final Logger logger = LoggerFactory.getLogger(DataLoader.class);
     private Database db;
+    private String dataDir;
+
+    private record RestaurantRow(String name, String managerUsername, String type, LocalTime startTime,
+                                 LocalTime endTime, String description, Address address, String image) {
+    }
+
+    private record TableRow(int tableNumber, int seatsNumber) {
+    }
+
+    private record ReviewRow(String username, Rating rating, String comment) {
+    }
 
     public DataLoader(Database database) {
-        db = database;
+        this(database, JsonReader.DEFAULT_DATA_DIR);
     }
 
-    public void read() {
-        readUsers();
-        readRestaurants();
-        readTables();
-        readReviews();
+    public DataLoader(Database database, String dataDir) {
+        db = database;
+        this.dataDir = dataDir;
     }
 
-    private void readUsers() {
-        JsonNode usersList = JsonReader.readData(JsonReader.File.USERS);
-        if (usersList == null) {
-            return;
+    public void read() {
+        long start = System.nanoTime();
+        List<User> users;
+        List<RestaurantRow> restaurantRows;
+        Map<String, List<TableRow>> tablesByRestaurant;
+        Map<String, List<ReviewRow>> reviewsByRestaurant;
+        try (ExecutorService executor = Executors.newFixedThreadPool(JsonReader.File.values().length)) {
+            var usersFuture = parse(executor, JsonReader.File.USERS, new ArrayList<User>(),
+                    (list, node) -> list.add(parseUser(node)));
+            var restaurantsFuture = parse(executor, JsonReader.File.RESTAURANTS, new ArrayList<RestaurantRow>(),
+                    (list, node) -> list.add(parseRestaurant(node)));
+            var tablesFuture = parse(executor, JsonReader.File.TABLES, new LinkedHashMap<String, List<TableRow>>(),
+                    (groups, node) -> group(groups, node).add(parseTable(node)));
+            var reviewsFuture = parse(executor, JsonReader.File.REVIEWS, new LinkedHashMap<String, List<ReviewRow>>(),
+                    (groups, node) -> group(groups, node).add(parseReview(node)));
+            users = join(usersFuture);
+            restaurantRows = join(restaurantsFuture);
+            tablesByRestaurant = join(tablesFuture);
+            reviewsByRestaurant = join(reviewsFuture);
         }
+        logPhase("Parsed data files", start);
 
-        for (JsonNode node : usersList) {
-            String role = node.get("role").asText();
-            String country = node.get("address").get("country").asText();
-            String city = node.get("address").get("city").asText();
-            User user = new User(
-                    node.get("username").asText(),
-                    node.get("password").asText(),
-                    node.get("email").asText(),
-                    new Address(country, city, null),
-                    User.Role.valueOf(role)
-            );
-            db.users.add(user);
+        long phase = System.nanoTime();
+        for (User user : users) {
+            if (!db.addUser(user)) {
+                logger.warn("Skipping user {} with a duplicate username or email", user.getUsername());
+            }
         }
+        restaurantRows.forEach(this::addRestaurant);
+        logPhase("Linked users and restaurants", phase);
+
+        phase = System.nanoTime();
+        tablesByRestaurant.entrySet().parallelStream().forEach(e -> addTables(e.getKey(), e.getValue()));
+        reviewsByRestaurant.entrySet().parallelStream().forEach(e -> addReviews(e.getKey(), e.getValue()));
+        logPhase("Linked tables and reviews", phase);
+
+        logger.info("Loaded data from {} in {} ms", dataDir, (System.nanoTime() - start) / 1_000_000);
     }
 
-    private void readRestaurants() {
-        JsonNode restaurantsList = JsonReader.readData(JsonReader.File.RESTAURANTS);
-        if (restaurantsList == null) {
-            return;
-        }
+    private <T> CompletableFuture<T> parse(ExecutorService executor, JsonReader.File file, T result,
+                                           BiConsumer<T, JsonNode> reader) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            Consumer<JsonNode> action = node -> reader.accept(result, node);
+            int rows = JsonReader.readRecords(dataDir, file, action);
+            logger.info("Parsed {} rows from {} in {} ms", rows, file, (System.nanoTime() - start) / 1_000_000);
+            return result;
+        }, executor);
+    }
 
-        for (JsonNode node : restaurantsList) {
-            User manager = getUserByUsername(node.get("managerUsername").asText());
-
-            LocalTime startTime = LocalTime.parse(node.get("startTime").asText());
-            LocalTime endTime = LocalTime.parse(node.get("endTime").asText());
-
-            String country = node.get("address").get("country").asText();
-            String city = node.get("address").get("city").asText();
-            String street = node.get("address").get("street").asText();
-
-            Restaurant restaurant = new Restaurant(
-                    node.get("name").asText(),
-                    manager,
-                    node.get("type").asText(),
-                    startTime,
-                    endTime,
-                    node.get("description").asText(),
-                    new Address(country, city, street),
-                    node.get("image").asText()
-            );
-            db.restaurants.add(restaurant);
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
 
-    private void readTables() {
-        JsonNode tablesList = JsonReader.readData(JsonReader.File.TABLES);
-        if (tablesList == null) {
-            return;
-        }
+    private static <T> List<T> group(Map<String, List<T>> groups, JsonNode node) {
+        return groups.computeIfAbsent(node.get("restaurantName").asText(), name -> new ArrayList<>());
+    }
 
-        for (JsonNode node : tablesList) {
-            Restaurant restaurant = getRestaurantByName(node.get("restaurantName").asText());
+    private void logPhase(String phase, long start) {
+        logger.info("{} in {} ms", phase, (System.nanoTime() - start) / 1_000_000);
+    }
 
-            int tableNumber = node.get("tableNumber").asInt();
-            int seatsNumber = node.get("seatsNumber").asInt();
-            Table table = new Table(tableNumber, restaurant.getId(), seatsNumber);
-            restaurant.addTable(table);
-        }
+    private User parseUser(JsonNode node) {
+        String role = node.get("role").asText();
+        String country = node.get("address").get("country").asText();
+        String city = node.get("address").get("city").asText();
+        return new User(
+                node.get("username").asText(),
+                node.get("password").asText(),
+                node.get("email").asText(),
+                new Address(country, city, null),
+                User.Role.valueOf(role)
+        );
     }
 
-    private void readReviews() {
-        JsonNode reviewsList = JsonReader.readData(JsonReader.File.REVIEWS);
-        if (reviewsList == null) {
-            return;
-        }
+    private RestaurantRow parseRestaurant(JsonNode node) {
+        LocalTime startTime = LocalTime.parse(node.get("startTime").asText());
+        LocalTime endTime = LocalTime.parse(node.get("endTime").asText());
+
+        String country = node.get("address").get("country").asText();
+        String city = node.get("address").get("city").asText();
+        String street = node.get("address").get("street").asText();
+
+        return new RestaurantRow(
+                node.get("name").asText(),
+                node.get("managerUsername").asText(),
+                node.get("type").asText(),
+                startTime,
+                endTime,
+                node.get("description").asText(),
+                new Address(country, city, street),
+                node.get("image").asText()
+        );
+    }
 
-        for (JsonNode node : reviewsList) {
-            Restaurant restaurant = getRestaurantByName(node.get("restaurantName").asText());
-            User user = getUserByUsername(node.get("username").asText());
+    private void addRestaurant(RestaurantRow row) {
+        Restaurant restaurant = new Restaurant(
+                row.name(),
+                db.getUserByUsername(row.managerUsername()),
+                row.type(),
+                row.startTime(),
+                row.endTime(),
+                row.description(),
+                row.address(),
+                row.image()
+        );
+        db.addRestaurant(restaurant);
+    }
 
-            Rating rating = new Rating();
-            rating.food = node.get("foodRate").asDouble();
-            rating.service = node.get("serviceRate").asDouble();
-            rating.ambiance = node.get("ambianceRate").asDouble();
-            rating.overall = node.get("overallRate").asDouble();
+    private TableRow parseTable(JsonNode node) {
+        return new TableRow(node.get("tableNumber").asInt(), node.get("seatsNumber").asInt());
+    }
 
-            String comment = node.get("comment").asText();
-            restaurant.addReview(new Review(user, rating, comment, LocalDateTime.now()));
+    private void addTables(String restaurantName, List<TableRow> rows) {
+        Restaurant restaurant = db.getRestaurantByName(restaurantName);
+        for (TableRow row : rows) {
+            restaurant.addTable(new Table(row.tableNumber(), restaurant.getId(), row.seatsNumber()));
         }
     }
 
-    private User getUserByUsername(String username) {
-        return db.users.stream().filter(u -> u.getUsername().equals(username)).findFirst().orElse(null);
+    private ReviewRow parseReview(JsonNode node) {
+        Rating rating = new Rating();
+        rating.food = node.get("foodRate").asDouble();
+        rating.service = node.get("serviceRate").asDouble();
+        rating.ambiance = node.get("ambianceRate").asDouble();
+        rating.overall = node.get("overallRate").asDouble();
+        return new ReviewRow(node.get("username").asText(), rating, node.get("comment").asText());
     }
 
-    private Restaurant getRestaurantByName(String name) {
-        return db.restaurants.stream().filter(r -> r.getName().equals(name)).findFirst().orElse(null);
+    private void addReviews(String restaurantName, List<ReviewRow> rows) {
+        Restaurant restaurant = db.getRestaurantByName(restaurantName);
+        for (ReviewRow row : rows) {
+            User user = db.getUserByUsername(row.username());
+            restaurant.addReview(new Review(user, row.rating(), row.comment(), LocalDateTime.now()));
+        }
     }
 }
@@ -2,19 +2,90 @@ package mizdooni.database;
 
 import mizdooni.model.Restaurant;
 import mizdooni.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class Database {
     public List<User> users;
     public List<Restaurant> restaurants;
 
+    private Map<String, User> usersByUsername;
+    private Map<String, User> usersByEmail;
+    private Map<Integer, Restaurant> restaurantsById;
+    private Map<String, Restaurant> restaurantsByName;
+    private RestaurantIndex restaurantIndex;
+
     public Database() {
+        this(JsonReader.DEFAULT_DATA_DIR);
+    }
+
+    @Autowired
+    public Database(@Value("${mizdooni.data-dir:" + JsonReader.DEFAULT_DATA_DIR + "}") String dataDir) {
         users = new ArrayList<>();
         restaurants = new ArrayList<>();
-        new DataLoader(this).read();
+        usersByUsername = new ConcurrentHashMap<>();
+        usersByEmail = new ConcurrentHashMap<>();
+        restaurantsById = new ConcurrentHashMap<>();
+        restaurantsByName = new ConcurrentHashMap<>();
+        restaurantIndex = new RestaurantIndex();
+        new DataLoader(this, dataDir).read();
+    }
+
+    /**
+     * Adds the user unless its username or email is already taken; the check and the insert
+     * happen under one monitor so that two concurrent signups cannot both claim the same name.
+     *
+     * @return false if the user was rejected as a duplicate
+     */
+    synchronized public boolean addUser(User user) {
+        if (usersByUsername.containsKey(user.getUsername()) || usersByEmail.containsKey(user.getEmail())) {
+            return false;
+        }
+        users.add(user);
+        usersByUsername.put(user.getUsername(), user);
+        usersByEmail.put(user.getEmail(), user);
+        return true;
+    }
+
+    synchronized public void addRestaurant(Restaurant restaurant) {
+        restaurants.add(restaurant);
+        restaurantsById.put(restaurant.getId(), restaurant);
+        restaurantsByName.putIfAbsent(restaurant.getName(), restaurant);
+        restaurantIndex.add(restaurant);
+    }
+
+    public User getUserByUsername(String username) {
+        return usersByUsername.get(username);
+    }
+
+    public User getUserByEmail(String email) {
+        return usersByEmail.get(email);
+    }
+
+    public Restaurant getRestaurant(int id) {
+        return restaurantsById.get(id);
+    }
+
+    public Restaurant getRestaurantByName(String name) {
+        return restaurantsByName.get(name);
+    }
+
+    /**
+     * Returns a snapshot of the restaurants matching the indexed criteria, taken under the same
+     * monitor as addRestaurant so that searches never see the index or catalog mid-update.
+     */
+    synchronized public List<Restaurant> findRestaurants(String name, String type, String city) {
+        List<Integer> ids = restaurantIndex.candidates(name, type, city);
+        if (ids == null) {
+            return new ArrayList<>(restaurants);
+        }
+        return ids.stream().map(restaurantsById::get).toList();
     }
 }
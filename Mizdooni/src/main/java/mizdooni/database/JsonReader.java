@@ -1,16 +1,25 @@
 package mizdooni.database;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Objects;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 public class JsonReader {
-    private static final String DATA_DIR_PATH = "src/main/java/mizdooni/database/data/";
+    public static final String DEFAULT_DATA_DIR = "src/main/java/mizdooni/database/data/";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Logger logger = LoggerFactory.getLogger(JsonReader.class);
 
     public enum File {
         USERS("users.json"),
@@ -30,16 +39,40 @@ public class JsonReader {
         }
     }
 
-    public static JsonNode readData(File file) {
-        return readFromJson(DATA_DIR_PATH + file);
+    public static int readRecords(File file, Consumer<JsonNode> action) {
+        return readRecords(DEFAULT_DATA_DIR, file, action);
     }
 
-    private static JsonNode readFromJson(String path) {
-        try {
-            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(path)));
-            return new ObjectMapper().readTree(reader);
-        } catch (Exception e) {
-            return null;
+    /**
+     * Streams the top-level array of the file and hands each element to {@code action} as soon as it is parsed,
+     * so only one record is held in memory at a time. A missing file yields no records.
+     *
+     * @return the number of records read
+     * @throws UncheckedIOException if the file exists but is not an array of objects that parses to the end
+     */
+    public static int readRecords(String dataDir, File file, Consumer<JsonNode> action) {
+        Path path = Path.of(dataDir, file.toString());
+        if (!Files.exists(path)) {
+            logger.warn("{} not found, loading no records from it", path);
+            return 0;
+        }
+        int count = 0;
+        try (JsonParser parser = mapper.createParser(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "expected an array of records");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                action.accept(mapper.readTree(parser));
+                count++;
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "expected a record or the end of the array");
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read {} after {} records", path, count);
+            throw new UncheckedIOException("failed to read " + path + " after " + count + " records", e);
         }
+        return count;
     }
 }
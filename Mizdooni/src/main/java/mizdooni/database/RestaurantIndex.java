@@ -0,0 +1,82 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class RestaurantIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private Map<String, Set<Integer>> idsByType;
+    private Map<String, Set<Integer>> idsByCity;
+    private Map<String, Set<Integer>> idsByNameGram;
+
+    RestaurantIndex() {
+        idsByType = new HashMap<>();
+        idsByCity = new HashMap<>();
+        idsByNameGram = new HashMap<>();
+    }
+
+    void add(Restaurant restaurant) {
+        if (restaurant.getName() != null) {
+            for (String gram : grams(restaurant.getName())) {
+                idsByNameGram.computeIfAbsent(gram, k -> new LinkedHashSet<>()).add(restaurant.getId());
+            }
+        }
+        if (restaurant.getType() != null) {
+            idsByType.computeIfAbsent(restaurant.getType(), k -> new LinkedHashSet<>()).add(restaurant.getId());
+        }
+        if (restaurant.getAddress() != null && restaurant.getAddress().getCity() != null) {
+            idsByCity.computeIfAbsent(restaurant.getAddress().getCity(), k -> new LinkedHashSet<>()).add(restaurant.getId());
+        }
+    }
+
+    /**
+     * Returns the ids matching every given criterion in insertion order,
+     * or null when no criterion is given and the whole catalog is a candidate.
+     * Name candidates share all trigrams of the query, so callers still have to
+     * check the substring match; names shorter than a trigram are not narrowed.
+     */
+    List<Integer> candidates(String name, String type, String city) {
+        List<Set<Integer>> postings = new ArrayList<>();
+        if (name != null && name.length() >= GRAM_LENGTH) {
+            for (String gram : grams(name)) {
+                postings.add(idsByNameGram.getOrDefault(gram, Set.of()));
+            }
+        }
+        if (type != null) {
+            postings.add(idsByType.getOrDefault(type, Set.of()));
+        }
+        if (city != null) {
+            postings.add(idsByCity.getOrDefault(city, Set.of()));
+        }
+        if (postings.isEmpty()) {
+            return null;
+        }
+
+        // drive the intersection from the most selective posting set
+        postings.sort(Comparator.comparingInt(Set::size));
+        List<Integer> ids = new ArrayList<>();
+        for (Integer id : postings.getFirst()) {
+            if (postings.stream().allMatch(p -> p.contains(id))) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
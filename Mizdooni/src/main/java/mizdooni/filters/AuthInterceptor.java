@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import mizdooni.response.ResponseException;
 import mizdooni.service.UserService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -11,6 +12,8 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import java.lang.reflect.Method;
 
 public class AuthInterceptor implements HandlerInterceptor {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private UserService userService;
 
     public AuthInterceptor(UserService userService) {
@@ -22,6 +25,11 @@ public class AuthInterceptor implements HandlerInterceptor {
         if (!(handler instanceof HandlerMethod)) {
             return true;
         }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            userService.authenticate(authorization.substring(BEARER_PREFIX.length()));
+        }
+
         Method method = ((HandlerMethod) handler).getMethod();
         if (!method.isAnnotationPresent(LoginRequired.class) &&
                 !method.getDeclaringClass().isAnnotationPresent(LoginRequired.class)) {
@@ -20,7 +20,13 @@ public class Reservation {
     }
 
     public void cancel() {
+        if (cancelled) {
+            return;
+        }
         this.cancelled = true;
+        if (table != null) {
+            table.releaseReservation(this);
+        }
     }
 
     public boolean isCancelled() {
@@ -3,7 +3,9 @@ package mizdooni.model;
 import javax.management.RuntimeErrorException;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Restaurant {
     private static int idCounter = 0;
@@ -17,7 +19,10 @@ public class Restaurant {
     private Address address;
     private String imageLink;
     private List<Table> tables;
-    private List<Review> reviews;
+    private Map<User, Review> reviews;
+    private List<Review> reviewList;
+    private int reviewSequence;
+    private Rating ratingSum;
 
     public Restaurant(String name, User manager, String type, LocalTime startTime, LocalTime endTime,
                       String description, Address address, String imageLink) {
@@ -31,7 +36,8 @@ public class Restaurant {
         this.address = address;
         this.imageLink = imageLink;
         this.tables = new ArrayList<>();
-        this.reviews = new ArrayList<>();
+        this.reviews = new LinkedHashMap<>();
+        this.ratingSum = new Rating();
     }
 
     public Table getTable(int tableNumber) {
@@ -47,32 +53,35 @@ public class Restaurant {
         if (review == null) {
            throw new RuntimeException("review must has valid value");
         }
-        for (Review r : reviews) {
-            if (r.getUser().equals(review.getUser())) {
-                reviews.remove(r);
-                break;
-            }
+        // a user's new review replaces the old one and moves to the end of the insertion order
+        Review previous = reviews.remove(review.getUser());
+        if (previous != null) {
+            updateRatingSum(previous.getRating(), -1);
         }
-        reviews.add(review);
+        review.setSequence(reviewSequence++);
+        reviews.put(review.getUser(), review);
+        updateRatingSum(review.getRating(), 1);
+        reviewList = null;
     }
 
-    public Rating getAverageRating() {
-        Rating average = new Rating();
-
-        for (Review r : reviews) {
-            average.food += r.getRating().food;
-            average.service += r.getRating().service;
-            average.ambiance += r.getRating().ambiance;
-            average.overall += r.getRating().overall;
-        }
+    private void updateRatingSum(Rating rating, int sign) {
+        ratingSum.food += sign * rating.food;
+        ratingSum.service += sign * rating.service;
+        ratingSum.ambiance += sign * rating.ambiance;
+        ratingSum.overall += sign * rating.overall;
+    }
 
-        if (!reviews.isEmpty()) {
-            average.food /= reviews.size();
-            average.service /= reviews.size();
-            average.ambiance /= reviews.size();
-            average.overall /= reviews.size();
+    synchronized public Rating getAverageRating() {
+        Rating average = new Rating();
+        int count = reviews.size();
+        if (count == 0) {
+            return average;
         }
 
+        average.food = ratingSum.food / count;
+        average.service = ratingSum.service / count;
+        average.ambiance = ratingSum.ambiance / count;
+        average.overall = ratingSum.overall / count;
         return average;
     }
 
@@ -116,7 +125,34 @@ public class Restaurant {
         return address;
     }
 
-    public List<Review> getReviews() {
-        return reviews;
+    synchronized public List<Review> getReviews() {
+        List<Review> list = reviewList;
+        if (list == null) {
+            list = List.copyOf(reviews.values());
+            reviewList = list;
+        }
+        return list;
+    }
+
+    /**
+     * Returns the reviews added after the one with the given sequence number, in review order.
+     */
+    public List<Review> getReviewsAfter(int sequence) {
+        List<Review> list = getReviews();
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list.get(mid).getSequence() <= sequence) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return list.subList(low, list.size());
+    }
+
+    synchronized public int getReviewCount() {
+        return reviews.size();
     }
 }
@@ -1,8 +1,11 @@
 package mizdooni.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 public class RestaurantSearchFilter {
@@ -12,33 +15,164 @@ public class RestaurantSearchFilter {
     private String sort;
     private String order;
 
+    // below this many results per requested item a full sort is cheaper than a bounded heap
+    private static final int TOP_K_RATIO = 4;
+
     public List<Restaurant> filter(List<Restaurant> restaurants) {
-        List<Restaurant> rest = new ArrayList<>(restaurants);
-        if (name != null) {
-            rest = rest.stream().filter(r -> r.getName().contains(name)).collect(Collectors.toList());
-        }
-        if (type != null) {
-            rest = rest.stream().filter(r -> r.getType().equals(type)).collect(Collectors.toList());
+        List<Restaurant> rest = match(restaurants);
+        return sort(rest, rest.size());
+    }
+
+    public List<Restaurant> match(List<Restaurant> restaurants) {
+        return restaurants.stream().filter(this::matches).collect(Collectors.toList());
+    }
+
+    public boolean matches(Restaurant r) {
+        return (name == null || r.getName().contains(name))
+                && (type == null || r.getType().equals(type))
+                && (location == null || r.getAddress().getCity().equals(location));
+    }
+
+    /**
+     * Returns the first {@code limit} restaurants in sort order; ties are ordered by id.
+     * The input list may be sorted in place.
+     */
+    public List<Restaurant> sort(List<Restaurant> restaurants, int limit) {
+        if (sortKey() == null) {
+            return restaurants.subList(0, Math.min(limit, restaurants.size()));
         }
-        if (location != null) {
-            rest = rest.stream().filter(r -> r.getAddress().getCity().equals(location)).collect(Collectors.toList());
+        if ((long) limit * TOP_K_RATIO > restaurants.size()) {
+            restaurants.sort(comparator());
+            return restaurants.subList(0, Math.min(limit, restaurants.size()));
         }
-        if (sort != null) {
-            if (sort.equals("rating")) {
-                Comparator<Restaurant> comparator = Comparator.comparing(r -> r.getAverageRating().overall);
-                if (order != null && order.equals("asc")) {
-                    comparator = comparator.reversed();
-                }
-                rest.sort(comparator.reversed());
-            } else if (sort.equals("reviews")) {
-                Comparator<Restaurant> comparator = Comparator.comparingInt(r -> r.getReviews().size());
-                if (order != null && order.equals("asc")) {
-                    comparator = comparator.reversed();
+        return topK(restaurants, limit, comparator());
+    }
+
+    /**
+     * Keeps the restaurants that come strictly after the position ({@code key}, {@code id})
+     * in sort order, where {@code key} is a value returned by {@link #sortKeyOf}.
+     */
+    public List<Restaurant> after(List<Restaurant> restaurants, double key, int id) {
+        return restaurants.stream().filter(r -> isAfter(r, key, id)).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns up to {@code limit} matching restaurants that come strictly after the position
+     * ({@code key}, {@code id}), in sort order. {@code candidates} must be in id order, as
+     * Database returns them. Without a sort, the scan starts at the cursor and stops once the
+     * page is full; sorted keys change with every review, so a sorted page takes one pass
+     * over the candidates through a bounded heap, without building intermediate lists.
+     */
+    public List<Restaurant> pageAfter(List<Restaurant> candidates, double key, int id, int limit) {
+        if (sortKey() == null) {
+            List<Restaurant> page = new ArrayList<>();
+            for (int i = firstIdAfter(candidates, id); i < candidates.size() && page.size() < limit; i++) {
+                if (matches(candidates.get(i))) {
+                    page.add(candidates.get(i));
                 }
-                rest.sort(comparator.reversed());
+            }
+            return page;
+        }
+        Comparator<Restaurant> comparator = comparator();
+        PriorityQueue<Restaurant> heap = new PriorityQueue<>(limit + 1, comparator.reversed());
+        for (Restaurant restaurant : candidates) {
+            if (!isAfter(restaurant, key, id) || !matches(restaurant)) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(restaurant);
+            } else if (comparator.compare(restaurant, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(restaurant);
+            }
+        }
+        return drain(heap);
+    }
+
+    private boolean isAfter(Restaurant restaurant, double key, int id) {
+        int cmp = Double.compare(sortKeyOf(restaurant), key);
+        if (!isAscending()) {
+            cmp = -cmp;
+        }
+        return cmp > 0 || (cmp == 0 && restaurant.getId() > id);
+    }
+
+    private static int firstIdAfter(List<Restaurant> restaurants, int id) {
+        int low = 0;
+        int high = restaurants.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (restaurants.get(mid).getId() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return rest;
+        return low;
+    }
+
+    public double sortKeyOf(Restaurant restaurant) {
+        ToDoubleFunction<Restaurant> sortKey = sortKey();
+        return sortKey == null ? 0 : sortKey.applyAsDouble(restaurant);
+    }
+
+    private ToDoubleFunction<Restaurant> sortKey() {
+        if ("rating".equals(sort)) {
+            return r -> r.getAverageRating().overall;
+        } else if ("reviews".equals(sort)) {
+            return Restaurant::getReviewCount;
+        }
+        return null;
+    }
+
+    private boolean isAscending() {
+        return order != null && order.equals("asc");
+    }
+
+    private Comparator<Restaurant> comparator() {
+        Comparator<Restaurant> comparator = Comparator.comparingDouble(this::sortKeyOf);
+        if (!isAscending()) {
+            comparator = comparator.reversed();
+        }
+        return comparator.thenComparingInt(Restaurant::getId);
+    }
+
+    private static List<Restaurant> topK(List<Restaurant> restaurants, int k, Comparator<Restaurant> comparator) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        // max-heap on rank: the root is the worst of the best k seen so far
+        PriorityQueue<Restaurant> heap = new PriorityQueue<>(k + 1, comparator.reversed());
+        for (Restaurant restaurant : restaurants) {
+            if (heap.size() < k) {
+                heap.add(restaurant);
+            } else if (comparator.compare(restaurant, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(restaurant);
+            }
+        }
+        return drain(heap);
+    }
+
+    // empties a max-heap on rank into a list in rank order
+    private static List<Restaurant> drain(PriorityQueue<Restaurant> heap) {
+        Restaurant[] top = new Restaurant[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return new ArrayList<>(Arrays.asList(top));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getLocation() {
+        return location;
     }
 
     public void setName(String name) {
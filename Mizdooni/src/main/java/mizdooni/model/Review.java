@@ -7,6 +7,7 @@ public class Review {
     private String comment;
     private LocalDateTime datetime;
     private User user;
+    private int sequence;
 
     public Review(User user, Rating rating, String comment, LocalDateTime datetime) {
         this.user = user;
@@ -26,4 +27,12 @@ public class Review {
     public User getUser() {
         return user;
     }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
 }
@@ -1,28 +1,82 @@
 package mizdooni.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.TreeMap;
 
 public class Table {
     private int tableNumber;
     private int restaurantId;
     private int seatsNumber;
     private List<Reservation> reservations;
+    // non-cancelled reservations per hour of each date, from slotsPrunedBefore on
+    private TreeMap<LocalDate, DaySlots> reservedSlots;
+    private LocalDate slotsPrunedBefore;
 
     public Table(int tableNumber, int restaurantId, int seatsNumber) {
         this.tableNumber = tableNumber;
         this.restaurantId = restaurantId;
         this.seatsNumber = seatsNumber;
         this.reservations = new ArrayList<>();
+        this.reservedSlots = new TreeMap<>();
+        this.slotsPrunedBefore = LocalDate.MIN;
     }
 
-    public void addReservation(Reservation reservation) {
+    synchronized public void addReservation(Reservation reservation) {
         reservations.add(reservation);
+        if (!reservation.isCancelled() && isTracked(reservation.getDateTime())) {
+            LocalDateTime datetime = reservation.getDateTime();
+            reservedSlots.computeIfAbsent(datetime.toLocalDate(), date -> new DaySlots()).add(datetime.getHour());
+        }
     }
 
-    public boolean isReserved(LocalDateTime datetime) {
-        return reservations.stream().anyMatch(r -> r.getDateTime().equals(datetime) && !r.isCancelled());
+    /**
+     * Adds the reservation only if its time is still free; the check and the update are atomic per table.
+     */
+    synchronized public boolean tryReserve(Reservation reservation) {
+        if (isReserved(reservation.getDateTime())) {
+            return false;
+        }
+        addReservation(reservation);
+        return true;
+    }
+
+    synchronized void releaseReservation(Reservation reservation) {
+        LocalDateTime datetime = reservation.getDateTime();
+        if (!isTracked(datetime)) {
+            return;
+        }
+        DaySlots slots = reservedSlots.get(datetime.toLocalDate());
+        if (slots != null && slots.remove(datetime.getHour())) {
+            reservedSlots.remove(datetime.toLocalDate());
+        }
+    }
+
+    synchronized public boolean isReserved(LocalDateTime datetime) {
+        if (!isHourly(datetime) || datetime.toLocalDate().isBefore(slotsPrunedBefore)) {
+            return reservations.stream().anyMatch(r -> r.getDateTime().equals(datetime) && !r.isCancelled());
+        }
+        return (getReservedHours(datetime.toLocalDate()) & (1 << datetime.getHour())) != 0;
+    }
+
+    synchronized public int getReservedHours(LocalDate date) {
+        if (date.isBefore(slotsPrunedBefore)) {
+            return reservations.stream()
+                    .filter(r -> r.getDateTime().toLocalDate().equals(date) && !r.isCancelled() && isHourly(r.getDateTime()))
+                    .mapToInt(r -> 1 << r.getDateTime().getHour())
+                    .reduce(0, (a, b) -> a | b);
+        }
+        DaySlots slots = reservedSlots.get(date);
+        return slots == null ? 0 : slots.mask;
+    }
+
+    synchronized public void pruneReservedSlots(LocalDate before) {
+        if (before.isAfter(slotsPrunedBefore)) {
+            reservedSlots.headMap(before).clear();
+            slotsPrunedBefore = before;
+        }
     }
 
     public int getTableNumber() {
@@ -37,7 +91,39 @@ public class Table {
         return seatsNumber;
     }
 
-    public List<Reservation> getReservations() {
-        return reservations;
+    /**
+     * Returns a snapshot, since reservations may be added concurrently.
+     */
+    synchronized public List<Reservation> getReservations() {
+        return new ArrayList<>(reservations);
+    }
+
+    private static boolean isHourly(LocalDateTime datetime) {
+        return datetime.getMinute() == 0 && datetime.getSecond() == 0 && datetime.getNano() == 0;
+    }
+
+    private boolean isTracked(LocalDateTime datetime) {
+        return isHourly(datetime) && !datetime.toLocalDate().isBefore(slotsPrunedBefore);
+    }
+
+    // bit h of mask is set while counts[h] > 0
+    private static class DaySlots {
+        private int mask;
+        private final int[] counts = new int[24];
+
+        void add(int hour) {
+            counts[hour]++;
+            mask |= 1 << hour;
+        }
+
+        /**
+         * @return true if no hour of the day is reserved any more
+         */
+        boolean remove(int hour) {
+            if (counts[hour] > 0 && --counts[hour] == 0) {
+                mask &= ~(1 << hour);
+            }
+            return mask == 0;
+        }
     }
 }
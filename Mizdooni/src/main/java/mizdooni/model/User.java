@@ -32,13 +32,13 @@ public class User {
         this.reservations = new ArrayList<>();
     }
 
-    public void addReservation(Reservation reservation) {
+    synchronized public void addReservation(Reservation reservation) {
         reservation.setReservationNumber(reservationCounter);
         reservationCounter++;
         reservations.add(reservation);
     }
 
-    public boolean checkReserved(Restaurant restaurant) {
+    synchronized public boolean checkReserved(Restaurant restaurant) {
         return reservations.stream().anyMatch(r -> !r.isCancelled() &&
                 r.getDateTime().isBefore(LocalDateTime.now()) &&
                 r.getRestaurant().equals(restaurant) &&
@@ -48,7 +48,7 @@ public class User {
                 .isAfter(LocalTime.of(r.getDateTime().getHour() , r.getDateTime().getMinute())));
     }
 
-    public Reservation getReservation(int reservationNumber) {
+    synchronized public Reservation getReservation(int reservationNumber) {
         for (Reservation r : reservations) {
             if (r.getReservationNumber() == reservationNumber && !r.isCancelled()) {
                 return r;
@@ -57,8 +57,11 @@ public class User {
         return null;
     }
 
-    public List<Reservation> getReservations() {
-        return reservations;
+    /**
+     * Returns a snapshot, since reservations may be added concurrently.
+     */
+    synchronized public List<Reservation> getReservations() {
+        return new ArrayList<>(reservations);
     }
 
     public boolean checkPassword(String pass) {
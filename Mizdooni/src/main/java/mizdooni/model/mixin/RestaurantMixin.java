@@ -9,12 +9,12 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import mizdooni.model.*;
-import mizdooni.response.serializer.ListSizeSerializer;
 import org.springframework.boot.jackson.JsonMixin;
 
 import java.io.IOException;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @JsonMixin(Restaurant.class)
 @JsonAutoDetect(
@@ -38,10 +38,18 @@ abstract class RestaurantMixin {
     @JsonIgnore
     private List<Table> tables;
 
-    @JsonProperty("totalReviews")
-    @JsonSerialize(using = ListSizeSerializer.class)
-    private List<Review> reviews;
+    @JsonIgnore
+    private Map<User, Review> reviews;
+    @JsonIgnore
+    private List<Review> reviewList;
+    @JsonIgnore
+    private int reviewSequence;
 
+    @JsonIgnore
+    private Rating ratingSum;
+
+    @JsonProperty("totalReviews")
+    abstract int getReviewCount();
     @JsonProperty
     abstract int getMaxSeatsNumber();
     @JsonProperty
@@ -2,6 +2,7 @@ package mizdooni.model.mixin;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import mizdooni.model.Review;
@@ -24,6 +25,9 @@ abstract class ReviewMixin {
     @JsonSerialize(using = UserShortSerializer.class)
     private User user;
 
+    @JsonIgnore
+    private int sequence;
+
     @JsonProperty
     abstract int getStarCount();
 }
@@ -0,0 +1,41 @@
+package mizdooni.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a sorted listing: the sort key and id of the last item a client has seen.
+ */
+public class PageCursor {
+    private double key;
+    private int id;
+
+    public PageCursor(double key, int id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            return new PageCursor(Double.parseDouble(raw.substring(0, separator)),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public double getKey() {
+        return key;
+    }
+
+    public int getId() {
+        return id;
+    }
+}
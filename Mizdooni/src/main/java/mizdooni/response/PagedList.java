@@ -1,5 +1,6 @@
 package mizdooni.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import mizdooni.response.serializer.ListSizeSerializer;
@@ -8,44 +9,87 @@ import java.util.Collections;
 import java.util.List;
 
 public class PagedList<T> {
-    @JsonProperty
     private int page;
     private int size;
     private int start;
     private int end;
+    private int total;
     private List<T> original;
     @JsonProperty("size")
     @JsonSerialize(using = ListSizeSerializer.class)
     private List<T> pageList;
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    // cursor pages have no page number or total, so those fields are left out of the response
+    private boolean afterCursor;
 
     public PagedList(List<T> original, int page, int size) {
+        this(original, page, size, original.size());
+    }
+
+    /**
+     * Pages over the leading items of a result of {@code total} items;
+     * {@code original} only has to hold the items up to the end of the requested page.
+     */
+    public PagedList(List<T> original, int page, int size, int total) {
         if (page < 1 || size < 1) {
             throw new IllegalArgumentException("invalid page number");
         }
         this.page = page;
         this.size = size;
+        this.total = total;
         this.original = original;
         this.start = (page - 1) * size;
-        this.end = Math.min(start + size, original.size());
-        if (this.start >= original.size()) {
+        this.end = Math.min(start + size, total);
+        if (this.start >= Math.min(original.size(), total)) {
             this.pageList = Collections.emptyList();
         } else {
-            this.pageList = original.subList(start, end);
+            this.pageList = original.subList(start, Math.min(end, original.size()));
         }
     }
 
+    /**
+     * A page read from a cursor position: {@code items} holds the page, and {@code hasNext}
+     * tells whether more items follow it.
+     */
+    public static <T> PagedList<T> afterCursor(List<T> items, boolean hasNext) {
+        PagedList<T> paged = new PagedList<>(items, 1, Math.max(1, items.size()), items.size() + (hasNext ? 1 : 0));
+        paged.afterCursor = true;
+        return paged;
+    }
+
+    @JsonProperty("page")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer pageNumber() {
+        return afterCursor ? null : page;
+    }
+
+    @JsonProperty("totalPages")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPageCount() {
+        return afterCursor ? null : totalPages();
+    }
+
     @JsonProperty
     public boolean hasNext() {
-        return end < original.size();
+        return end < total;
     }
 
-    @JsonProperty
     public int totalPages() {
-        return (int) Math.ceil((double) original.size() / size);
+        return (int) Math.ceil((double) total / size);
     }
 
     @JsonProperty("pageList")
     public List<T> getPageList() {
         return pageList;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
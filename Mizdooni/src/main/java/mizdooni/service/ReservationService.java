@@ -27,7 +27,7 @@ public class ReservationService {
 
     public List<Reservation> getReservations(int restaurantId, int tableNumber, LocalDate date)
             throws RestaurantNotFound, UserNotManager, InvalidManagerRestaurant, TableNotFound {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -65,7 +65,7 @@ public class ReservationService {
 
     public List<LocalTime> getAvailableTimes(int restaurantId, int people, LocalDate date)
             throws RestaurantNotFound, DateTimeInThePast, BadPeopleNumber {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -103,7 +103,7 @@ public class ReservationService {
             throw new DateTimeInThePast();
         }
 
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -112,15 +112,16 @@ public class ReservationService {
             throw new ReservationNotInOpenTimes();
         }
 
-        Table table = findAvailableTable(restaurant, people, datetime);
-        if (table == null) {
-            throw new TableNotFound();
+        // a concurrent booking may take a candidate first; fall through to the next best fit
+        for (Table table : findAvailableTables(restaurant, people, datetime)) {
+            Reservation reservation = new Reservation(user, restaurant, table, datetime);
+            if (table.tryReserve(reservation)) {
+                user.addReservation(reservation);
+                table.pruneReservedSlots(LocalDate.now());
+                return reservation;
+            }
         }
-
-        Reservation reservation = new Reservation(user, restaurant, table, datetime);
-        user.addReservation(reservation);
-        table.addReservation(reservation);
-        return reservation;
+        throw new TableNotFound();
     }
 
     public void cancelReservation(int reservationNumber) throws UserNotFound, ReservationNotFound, ReservationCannotBeCancelled {
@@ -142,28 +143,24 @@ public class ReservationService {
     }
 
     private List<LocalTime> getAvailableTableTimes(Table table, LocalDate date, Restaurant restaurant) {
-        Set<LocalTime> reserves = table.getReservations().stream()
-                .filter(r -> r.getDateTime().toLocalDate().equals(date) && !r.isCancelled())
-                .map(r -> r.getDateTime().toLocalTime())
-                .collect(Collectors.toSet());
+        int reservedHours = table.getReservedHours(date);
 
         List<LocalTime> availableTimes = new ArrayList<>();
         int startTime = restaurant.getStartTime().getHour();
         int endTime = restaurant.getEndTime().getHour();
 
         for (int i = startTime; i <= endTime; i++) {
-            LocalTime time = LocalTime.of(i, 0);
-            if (!reserves.contains(time)) {
-                availableTimes.add(time);
+            if ((reservedHours & (1 << i)) == 0) {
+                availableTimes.add(LocalTime.of(i, 0));
             }
         }
         return availableTimes;
     }
 
-    private Table findAvailableTable(Restaurant restaurant, int people, LocalDateTime datetime) {
+    private List<Table> findAvailableTables(Restaurant restaurant, int people, LocalDateTime datetime) {
         return restaurant.getTables().stream()
                 .filter(table -> table.getSeatsNumber() >= people && !table.isReserved(datetime))
-                .min(Comparator.comparingInt(Table::getSeatsNumber))
-                .orElse(null);
+                .sorted(Comparator.comparingInt(Table::getSeatsNumber))
+                .toList();
     }
 }
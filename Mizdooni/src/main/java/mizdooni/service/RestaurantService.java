@@ -8,6 +8,7 @@ import mizdooni.model.Address;
 import mizdooni.model.Restaurant;
 import mizdooni.model.RestaurantSearchFilter;
 import mizdooni.model.User;
+import mizdooni.response.PageCursor;
 import mizdooni.response.PagedList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -26,15 +27,45 @@ public class RestaurantService {
     private UserService userService;
 
     public Restaurant getRestaurant(int restaurantId) {
-        return ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        return ServiceUtils.findRestaurant(restaurantId, db);
     }
 
     public PagedList<Restaurant> getRestaurants(int page, RestaurantSearchFilter filter) {
-        List<Restaurant> restaurants = db.restaurants;
-        if (filter != null) {
-            restaurants = filter.filter(restaurants);
+        if (filter == null) {
+            filter = new RestaurantSearchFilter();
+        }
+
+        List<Restaurant> restaurants = filter.match(db.findRestaurants(filter.getName(), filter.getType(), filter.getLocation()));
+        // only the requested page and the ones before it need to be ordered
+        int limit = (int) Math.min((long) page * ServiceUtils.RESTAURANT_PAGE_SIZE, Integer.MAX_VALUE);
+        List<Restaurant> ranked = filter.sort(restaurants, limit);
+        PagedList<Restaurant> paged = new PagedList<>(ranked, page, ServiceUtils.RESTAURANT_PAGE_SIZE, restaurants.size());
+        setNextCursor(paged, filter);
+        return paged;
+    }
+
+    public PagedList<Restaurant> getRestaurants(String cursor, RestaurantSearchFilter filter) {
+        if (filter == null) {
+            filter = new RestaurantSearchFilter();
+        }
+
+        PageCursor position = PageCursor.decode(cursor);
+        // one extra restaurant tells whether another page follows
+        List<Restaurant> restaurants = filter.pageAfter(
+                db.findRestaurants(filter.getName(), filter.getType(), filter.getLocation()),
+                position.getKey(), position.getId(), ServiceUtils.RESTAURANT_PAGE_SIZE + 1);
+        boolean hasNext = restaurants.size() > ServiceUtils.RESTAURANT_PAGE_SIZE;
+        PagedList<Restaurant> paged = PagedList.afterCursor(
+                hasNext ? restaurants.subList(0, ServiceUtils.RESTAURANT_PAGE_SIZE) : restaurants, hasNext);
+        setNextCursor(paged, filter);
+        return paged;
+    }
+
+    private static void setNextCursor(PagedList<Restaurant> restaurants, RestaurantSearchFilter filter) {
+        if (restaurants.hasNext() && !restaurants.getPageList().isEmpty()) {
+            Restaurant last = restaurants.getPageList().getLast();
+            restaurants.setNextCursor(new PageCursor(filter.sortKeyOf(last), last.getId()).encode());
         }
-        return new PagedList<>(restaurants, page, ServiceUtils.RESTAURANT_PAGE_SIZE);
     }
 
     public List<Restaurant> getManagerRestaurants(int managerId) {
@@ -57,12 +88,12 @@ public class RestaurantService {
         }
 
         Restaurant restaurant = new Restaurant(name, manager, type, startTime, endTime, description, address, imageLink);
-        db.restaurants.add(restaurant);
+        db.addRestaurant(restaurant);
         return restaurant.getId();
     }
 
     public boolean restaurantExists(String name) {
-        return db.restaurants.stream().anyMatch(r -> r.getName().equals(name));
+        return db.getRestaurantByName(name) != null;
     }
 
     public Set<String> getRestaurantTypes() {
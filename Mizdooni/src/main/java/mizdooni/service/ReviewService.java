@@ -6,11 +6,13 @@ import mizdooni.model.Rating;
 import mizdooni.model.Restaurant;
 import mizdooni.model.Review;
 import mizdooni.model.User;
+import mizdooni.response.PageCursor;
 import mizdooni.response.PagedList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class ReviewService {
@@ -20,14 +22,36 @@ public class ReviewService {
     private UserService userService;
 
     public PagedList<Review> getReviews(int restaurantId, int page) throws RestaurantNotFound {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
         PagedList<Review> reviews = new PagedList<>(restaurant.getReviews(), page, ServiceUtils.REVIEW_PAGE_SIZE);
+        setNextCursor(reviews);
         return reviews;
     }
 
+    public PagedList<Review> getReviews(int restaurantId, String cursor) throws RestaurantNotFound {
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
+        if (restaurant == null) {
+            throw new RestaurantNotFound();
+        }
+        PageCursor position = PageCursor.decode(cursor);
+        List<Review> after = restaurant.getReviewsAfter(position.getId());
+        boolean hasNext = after.size() > ServiceUtils.REVIEW_PAGE_SIZE;
+        PagedList<Review> reviews = PagedList.afterCursor(
+                hasNext ? after.subList(0, ServiceUtils.REVIEW_PAGE_SIZE) : after, hasNext);
+        setNextCursor(reviews);
+        return reviews;
+    }
+
+    private static void setNextCursor(PagedList<Review> reviews) {
+        if (reviews.hasNext() && !reviews.getPageList().isEmpty()) {
+            Review last = reviews.getPageList().getLast();
+            reviews.setNextCursor(new PageCursor(0, last.getSequence()).encode());
+        }
+    }
+
     public void addReview(int restaurantId, Rating rating, String comment)
             throws UserNotFound, ManagerCannotReview, RestaurantNotFound, InvalidReviewRating, UserHasNotReserved {
         User user = userService.getCurrentUser();
@@ -38,7 +62,7 @@ public class ReviewService {
             throw new ManagerCannotReview();
         }
 
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -1,5 +1,6 @@
 package mizdooni.service;
 
+import mizdooni.database.Database;
 import mizdooni.model.Restaurant;
 import mizdooni.model.User;
 
@@ -29,11 +30,11 @@ public class ServiceUtils {
         return time.getMinute() == 0;
     }
 
-    static boolean userIsTaken(String username, String email, List<User> users) {
-        return users.stream().anyMatch(u -> u.getUsername().equals(username) || u.getEmail().equals(email));
+    static boolean userIsTaken(String username, String email, Database db) {
+        return db.getUserByUsername(username) != null || db.getUserByEmail(email) != null;
     }
 
-    static Restaurant findRestaurant(int id, List<Restaurant> restaurants) {
-        return restaurants.stream().filter(r -> r.getId() == id).findFirst().orElse(null);
+    static Restaurant findRestaurant(int id, Database db) {
+        return db.getRestaurant(id);
     }
 }
@@ -0,0 +1,88 @@
+package mizdooni.service;
+
+import mizdooni.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class SessionStore {
+    private static final int TOKEN_BYTES = 32;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final Duration idleTimeout;
+    private final Clock clock;
+    private final Map<String, Session> sessions;
+    private final SecureRandom random;
+    private final AtomicInteger createdSinceSweep;
+
+    @Autowired
+    public SessionStore(@Value("${mizdooni.session.idle-timeout:30m}") Duration idleTimeout) {
+        this(idleTimeout, Clock.systemUTC());
+    }
+
+    SessionStore(Duration idleTimeout, Clock clock) {
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+        this.sessions = new ConcurrentHashMap<>();
+        this.random = new SecureRandom();
+        this.createdSinceSweep = new AtomicInteger();
+    }
+
+    public String create(User user) {
+        if (createdSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+            createdSinceSweep.set(0);
+            long now = clock.millis();
+            sessions.values().removeIf(session -> session.isExpired(now));
+        }
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(user, clock.millis()));
+        return token;
+    }
+
+    /**
+     * Returns the user of a live session and refreshes its idle timer, or null if the token is unknown or expired.
+     */
+    public User resolve(String token) {
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.millis();
+        if (session.isExpired(now)) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.lastAccess = now;
+        return session.user;
+    }
+
+    public boolean invalidate(String token) {
+        return sessions.remove(token) != null;
+    }
+
+    private class Session {
+        private final User user;
+        private volatile long lastAccess;
+
+        Session(User user, long lastAccess) {
+            this.user = user;
+            this.lastAccess = lastAccess;
+        }
+
+        boolean isExpired(long now) {
+            return now - lastAccess > idleTimeout.toMillis();
+        }
+    }
+}
@@ -20,7 +20,7 @@ public class TableService {
     private UserService userService;
 
     public List<Table> getTables(int restaurantId) throws RestaurantNotFound {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -30,7 +30,7 @@ public class TableService {
     public void addTable(int restaurantId, int seatsNumber)
             throws RestaurantNotFound, UserNotManager, InvalidManagerRestaurant {
         User manager = userService.getCurrentUser();
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db);
 
         if (restaurant == null) {
             throw new RestaurantNotFound();
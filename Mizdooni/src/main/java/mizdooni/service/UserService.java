@@ -8,24 +8,52 @@ import mizdooni.model.Address;
 import mizdooni.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Service
 public class UserService {
+    private static final String SESSION_TOKEN = UserService.class.getName() + ".token";
+    private static final String SESSION_USER = UserService.class.getName() + ".user";
+
     @Autowired
     private Database db;
-    private User currentUser = null;
+    @Autowired
+    private SessionStore sessions;
 
+    /**
+     * Returns the user of the session bound to the current request, or null outside an authenticated request.
+     */
     public User getCurrentUser() {
-        return currentUser;
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return null;
+        }
+        return (User) request.getAttribute(SESSION_USER, RequestAttributes.SCOPE_REQUEST);
     }
 
-    public boolean login(String username, String password) {
-        User user = db.users.stream().filter(u -> u.getUsername().equals(username)).findFirst().orElse(null);
+    /**
+     * Opens a session for the user and binds it to the current request.
+     *
+     * @return the session token, or null if the credentials are wrong
+     */
+    public String login(String username, String password) {
+        User user = db.getUserByUsername(username);
         if (user != null && user.checkPassword(password)) {
-            currentUser = user;
-            return true;
+            String token = sessions.create(user);
+            bindSession(token, user);
+            return token;
+        }
+        return null;
+    }
+
+    public boolean authenticate(String token) {
+        User user = sessions.resolve(token);
+        if (user == null) {
+            return false;
         }
-        return false;
+        bindSession(token, user);
+        return true;
     }
 
     public void signup(String username, String password, String email, Address address,
@@ -36,27 +64,43 @@ public class UserService {
         if (!ServiceUtils.validateEmail(email)) {
             throw new InvalidEmailFormat();
         }
-        if (ServiceUtils.userIsTaken(username, email, db.users)) {
+        if (ServiceUtils.userIsTaken(username, email, db)) {
             throw new DuplicatedUsernameEmail();
         }
 
         User user = new User(username, password, email, address, role);
-        db.users.add(user);
+        if (!db.addUser(user)) {
+            throw new DuplicatedUsernameEmail();
+        }
     }
 
     public boolean logout() {
-        if (currentUser != null) {
-            currentUser = null;
-            return true;
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return false;
+        }
+        String token = (String) request.getAttribute(SESSION_TOKEN, RequestAttributes.SCOPE_REQUEST);
+        if (token == null || !sessions.invalidate(token)) {
+            return false;
         }
-        return false;
+        request.removeAttribute(SESSION_TOKEN, RequestAttributes.SCOPE_REQUEST);
+        request.removeAttribute(SESSION_USER, RequestAttributes.SCOPE_REQUEST);
+        return true;
     }
 
     public boolean usernameExists(String username) {
-        return db.users.stream().anyMatch(u -> u.getUsername().equals(username));
+        return db.getUserByUsername(username) != null;
     }
 
     public boolean emailExists(String email) {
-        return db.users.stream().anyMatch(u -> u.getEmail().equals(email));
+        return db.getUserByEmail(email) != null;
+    }
+
+    private void bindSession(String token, User user) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(SESSION_TOKEN, token, RequestAttributes.SCOPE_REQUEST);
+            request.setAttribute(SESSION_USER, user, RequestAttributes.SCOPE_REQUEST);
+        }
     }
 }
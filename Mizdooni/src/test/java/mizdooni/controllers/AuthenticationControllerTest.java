@@ -32,6 +32,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 @ExtendWith(MockitoExtension.class)
 public class AuthenticationControllerTest {
@@ -79,19 +80,21 @@ public class AuthenticationControllerTest {
     @DisplayName("Test correct login credentials")
     public void testLogin() {
         Map<String, String> input = Map.of("username", "person", "password", "123");
-        doReturn(true).when(userService).login("person", "123");
-        Response response = authController.login(input);
+        doReturn("token").when(userService).login("person", "123");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        Response response = authController.login(input, servletResponse);
         assertEquals(HttpStatus.OK, response.getStatus());
         assertEquals("login successful", response.getMessage());
+        assertEquals("Bearer token", servletResponse.getHeader("Authorization"));
     }
 
     @Test
     @DisplayName("Test wrong login credentials")
     public void testWrongLogin() {
         Map<String, String> input = Map.of("username", "person", "password", "123");
-        doReturn(false).when(userService).login("person", "123");
+        doReturn(null).when(userService).login("person", "123");
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.login(input);
+            authController.login(input, new MockHttpServletResponse());
         });
         assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatus());
         assertEquals("invalid username or password", exception.getMessage());
@@ -102,7 +105,7 @@ public class AuthenticationControllerTest {
     @DisplayName("Test missing or incorrect arguments for login")
     public void testMissedArgsForLogin(Map<String, String> input) {
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.login(input);
+            authController.login(input, new MockHttpServletResponse());
         });
         assertEquals(PARAMS_MISSING, exception.getMessage());
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
@@ -201,7 +204,7 @@ public class AuthenticationControllerTest {
     public void testSignupMissingParameters() {
         Map<String, Object> incompleteParams = Map.of("username", "testUser");
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(incompleteParams);
+            authController.signup(incompleteParams, new MockHttpServletResponse());
         });
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         assertEquals(PARAMS_MISSING, exception.getMessage());
@@ -218,7 +221,7 @@ public class AuthenticationControllerTest {
             "address", Map.of("country", "Country", "city", "City")
         );
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(invalidParams);
+            authController.signup(invalidParams, new MockHttpServletResponse());
         });
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         assertEquals(PARAMS_BAD_TYPE, exception.getMessage());
@@ -235,7 +238,7 @@ public class AuthenticationControllerTest {
             "address", Map.of("country", "Country", "city", "City")
         );
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(invalidValues);
+            authController.signup(invalidValues, new MockHttpServletResponse());
         });
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         assertEquals(PARAMS_MISSING, exception.getMessage());
@@ -255,10 +258,10 @@ public class AuthenticationControllerTest {
         User mockUser = new User("testUser", "aGoodPass", "test@gmail.com"
             , new Address("Country", "City", null), User.Role.client);
         doNothing().when(userService).signup(anyString(), anyString(), anyString(), any(Address.class), any(User.Role.class));
-        doReturn(true).when(userService).login("testUser", "aGoodPass");
+        doReturn("token").when(userService).login("testUser", "aGoodPass");
         doReturn(mockUser).when(userService).getCurrentUser();
 
-        Response response = authController.signup(validParams);
+        Response response = authController.signup(validParams, new MockHttpServletResponse());
 
         assertEquals(HttpStatus.OK, response.getStatus());
         assertEquals("signup successful", response.getMessage());
@@ -279,7 +282,7 @@ public class AuthenticationControllerTest {
         doThrow(new ResponseException(HttpStatus.CONFLICT, "username already exists"))
             .when(userService).signup(eq("existingUser"), anyString(), anyString(), any(Address.class), any(User.Role.class));
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(paramsWithDuplicateUsername);
+            authController.signup(paramsWithDuplicateUsername, new MockHttpServletResponse());
         });
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         assertEquals("username already exists", exception.getMessage());
@@ -301,7 +304,7 @@ public class AuthenticationControllerTest {
             .when(userService).signup(anyString(), anyString(), eq("invalidEmail"), any(Address.class), any(User.Role.class));
 
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(paramsWithInvalidEmail);
+            authController.signup(paramsWithInvalidEmail, new MockHttpServletResponse());
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
@@ -320,7 +323,7 @@ public class AuthenticationControllerTest {
         );
 
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(paramsWithUnsupportedRole);
+            authController.signup(paramsWithUnsupportedRole, new MockHttpServletResponse());
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
@@ -341,7 +344,7 @@ public class AuthenticationControllerTest {
         doThrow(new RuntimeException("Service failure")).when(userService).signup(anyString(), anyString(), anyString(), any(Address.class), any(User.Role.class));
 
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(validParams);
+            authController.signup(validParams, new MockHttpServletResponse());
         });
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         assertEquals("Service failure", exception.getMessage());
@@ -361,7 +364,7 @@ public class AuthenticationControllerTest {
         doNothing().when(userService).signup(anyString(), anyString(), anyString(), any(Address.class), any(User.Role.class));
         doThrow(new RuntimeException("Login error")).when(userService).login("newUser", "securePassword");
         ResponseException exception = assertThrows(ResponseException.class, () -> {
-            authController.signup(validParams);
+            authController.signup(validParams, new MockHttpServletResponse());
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
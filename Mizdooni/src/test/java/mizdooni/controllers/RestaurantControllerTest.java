@@ -18,6 +18,7 @@ import mizdooni.model.Address;
 import mizdooni.model.Restaurant;
 import mizdooni.model.RestaurantSearchFilter;
 import mizdooni.model.User;
+import mizdooni.response.PageCursor;
 import mizdooni.response.PagedList;
 import mizdooni.service.RestaurantService;
 import org.junit.jupiter.api.BeforeEach;
@@ -93,6 +94,23 @@ public class RestaurantControllerTest {
             .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void when_cursorGivenWithoutPage_expect_cursorPage() throws Exception {
+        String cursor = new PageCursor(0, restaurant1.getId()).encode();
+        PagedList<Restaurant> nextPage = PagedList.afterCursor(List.of(restaurant2), false);
+        when(restaurantService.getRestaurants(eq(cursor), any(RestaurantSearchFilter.class)))
+            .thenReturn(nextPage);
+        mockMvc.perform(get("/restaurants")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.pageList[0].name").value("FastFood"))
+            .andExpect(jsonPath("$.data.size").value(1))
+            .andExpect(jsonPath("$.data.hasNext").value(false))
+            .andExpect(jsonPath("$.data.page").doesNotExist())
+            .andExpect(jsonPath("$.data.totalPages").doesNotExist())
+            .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
     @Test
     void when_noRestaurantsMatchFilter_expect_emptyList() throws Exception {
         int page = 1;
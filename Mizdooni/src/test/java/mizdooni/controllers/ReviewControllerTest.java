@@ -3,6 +3,7 @@ package mizdooni.controllers;
 
 import mizdooni.exceptions.*;
 import mizdooni.model.*;
+import mizdooni.response.PageCursor;
 import mizdooni.response.PagedList;
 import mizdooni.response.Response;
 import mizdooni.response.ResponseException;
@@ -106,7 +107,7 @@ public class ReviewControllerTest {
         "1, -1",
     })
     public void testGetReviewsWithInvalidParameters(int restaurantId, int page) {
-        ResponseException exception = assertThrows(ResponseException.class, () -> reviewController.getReviews(restaurantId,page));
+        ResponseException exception = assertThrows(ResponseException.class, () -> reviewController.getReviews(restaurantId, page, null));
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
     }
 
@@ -115,7 +116,7 @@ public class ReviewControllerTest {
     public void testGetReviewsValidRestaurant() throws RestaurantNotFound {
         when(restaurantService.getRestaurant(restaurantId)).thenReturn(restaurant);
         when(reviewService.getReviews(restaurantId, 1)).thenReturn(makeReviewPagedList(1));
-        Response response = reviewController.getReviews(restaurantId, 1);
+        Response response = reviewController.getReviews(restaurantId, 1, null);
         assertEquals(HttpStatus.OK, response.getStatus());
         assertEquals("reviews for restaurant (" + restaurantId + "): " + restaurant.getName(),
                 response.getMessage());
@@ -125,11 +126,33 @@ public class ReviewControllerTest {
         assertEquals(resultData.getPageList(), restaurant.getReviews());
     }
 
+    @Test
+    @DisplayName("Test get Review page after a cursor")
+    public void testGetReviewsWithCursor() throws RestaurantNotFound {
+        String cursor = new PageCursor(0, 0).encode();
+        PagedList<Review> page = new PagedList<>(restaurant.getReviewsAfter(0), 1, 5);
+        when(restaurantService.getRestaurant(restaurantId)).thenReturn(restaurant);
+        when(reviewService.getReviews(restaurantId, cursor)).thenReturn(page);
+        Response response = reviewController.getReviews(restaurantId, null, cursor);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        PagedList<Review> resultData = (PagedList<Review>) response.getData();
+        assertEquals(1, resultData.getPageList().size());
+        assertEquals(user2, resultData.getPageList().getFirst().getUser());
+    }
+
+    @Test
+    @DisplayName("Test get Review without page or cursor")
+    public void testGetReviewsWithoutPageOrCursor() {
+        ResponseException exception = assertThrows(ResponseException.class,
+                () -> reviewController.getReviews(restaurantId, null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
     @Test
     @DisplayName("Test get Review for an invalid restaurant")
     public void testGetReviewsInvalidRestaurant(){
         when(restaurantService.getRestaurant(restaurantId)).thenReturn(null);
-        Response response = reviewController.getReviews(restaurantId, 1);
+        Response response = reviewController.getReviews(restaurantId, 1, null);
         assertEquals(HttpStatus.OK, response.getStatus());
         assertEquals("restaurant not found", response.getMessage());
     }
@@ -0,0 +1,74 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+import mizdooni.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataGeneratorTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testGeneratedDataLoads() throws IOException {
+        new DataGenerator(50, 20, 3, 5, 7).write(dir);
+        Database db = new Database(dir.toString());
+
+        assertEquals(70, db.users.size());
+        assertEquals(20, db.restaurants.size());
+        for (Restaurant restaurant : db.restaurants) {
+            assertEquals(3, restaurant.getTables().size());
+            assertEquals(User.Role.manager, restaurant.getManager().getRole());
+        }
+        assertNotNull(db.getUserByUsername("client49"));
+        assertNotNull(db.getRestaurantByName("Restaurant 19"));
+    }
+
+    @Test
+    void testLoadKeepsFileOrder() throws IOException {
+        new DataGenerator(200, 100, 4, 10, 3).write(dir);
+        Database db = new Database(dir.toString());
+
+        assertEquals("client0", db.users.get(0).getUsername());
+        assertEquals("manager99", db.users.get(db.users.size() - 1).getUsername());
+        for (int i = 1; i < db.users.size(); i++) {
+            assertTrue(db.users.get(i - 1).getId() < db.users.get(i).getId());
+        }
+        for (int i = 0; i < db.restaurants.size(); i++) {
+            Restaurant restaurant = db.restaurants.get(i);
+            assertEquals("Restaurant " + i, restaurant.getName());
+            if (i > 0) {
+                assertTrue(db.restaurants.get(i - 1).getId() < restaurant.getId());
+            }
+            for (int t = 0; t < restaurant.getTables().size(); t++) {
+                assertEquals(t + 1, restaurant.getTables().get(t).getTableNumber());
+            }
+        }
+    }
+
+    @Test
+    void testSameSeedWritesSameFiles() throws IOException {
+        Path first = dir.resolve("first");
+        Path second = dir.resolve("second");
+        new DataGenerator(30, 10, 2, 4, 11).write(first);
+        new DataGenerator(30, 10, 2, 4, 11).write(second);
+
+        for (JsonReader.File file : JsonReader.File.values()) {
+            assertEquals(Files.readString(first.resolve(file.toString())),
+                    Files.readString(second.resolve(file.toString())));
+        }
+    }
+
+    @Test
+    void testMissingDataDirectoryLoadsEmptyDatabase() {
+        Database db = new Database(dir.resolve("missing").toString());
+        assertTrue(db.users.isEmpty());
+        assertTrue(db.restaurants.isEmpty());
+    }
+}
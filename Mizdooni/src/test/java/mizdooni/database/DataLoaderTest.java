@@ -0,0 +1,86 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+import mizdooni.model.Review;
+import mizdooni.model.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataLoaderTest {
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(dir.resolve("users.json"), """
+                [
+                    {"username": "ali", "password": "1", "email": "ali@a.ir", "role": "client",
+                     "address": {"country": "Iran", "city": "Tehran"}},
+                    {"username": "boss", "password": "2", "email": "boss@a.ir", "role": "manager",
+                     "address": {"country": "Iran", "city": "Tehran"}},
+                    {"username": "ali", "password": "3", "email": "ali2@a.ir", "role": "client",
+                     "address": {"country": "Iran", "city": "Shiraz"}}
+                ]
+                """);
+        Files.writeString(dir.resolve("restaurants.json"), """
+                [
+                    {"name": "Kababi", "managerUsername": "boss", "type": "Iranian", "startTime": "10:00",
+                     "endTime": "22:00", "description": "d", "address": {"country": "Iran", "city": "Tehran",
+                     "street": "s"}, "image": null},
+                    {"name": "Pizza", "managerUsername": "boss", "type": "Italian", "startTime": "12:00",
+                     "endTime": "23:00", "description": "d", "address": {"country": "Iran", "city": "Tehran",
+                     "street": "s"}, "image": null}
+                ]
+                """);
+        Files.writeString(dir.resolve("tables.json"), """
+                [
+                    {"restaurantName": "Pizza", "tableNumber": 1, "seatsNumber": 4},
+                    {"restaurantName": "Kababi", "tableNumber": 1, "seatsNumber": 2},
+                    {"restaurantName": "Pizza", "tableNumber": 2, "seatsNumber": 6}
+                ]
+                """);
+        Files.writeString(dir.resolve("reviews.json"), """
+                [
+                    {"restaurantName": "Kababi", "username": "ali", "foodRate": 5.0, "serviceRate": 4.0,
+                     "ambianceRate": 4.0, "overallRate": 4.5, "comment": "good"}
+                ]
+                """);
+    }
+
+    @Test
+    void testJoinsResolveByName() {
+        Database db = new Database(dir.toString());
+
+        Restaurant kababi = db.getRestaurantByName("Kababi");
+        Restaurant pizza = db.getRestaurantByName("Pizza");
+        assertSame(db.getUserByUsername("boss"), kababi.getManager());
+        assertSame(db.getUserByUsername("boss"), pizza.getManager());
+        assertEquals(1, kababi.getTables().size());
+        assertEquals(List.of(4, 6), pizza.getTables().stream().map(Table::getSeatsNumber).toList());
+    }
+
+    @Test
+    void testDuplicateUsernameJoinsFirstUser() {
+        Database db = new Database(dir.toString());
+
+        List<Review> reviews = db.getRestaurantByName("Kababi").getReviews();
+        assertEquals(1, reviews.size());
+        assertSame(db.users.get(0), reviews.get(0).getUser());
+        assertEquals("ali@a.ir", reviews.get(0).getUser().getEmail());
+    }
+
+    @Test
+    void testMalformedFileFailsLoading() throws IOException {
+        Files.writeString(dir.resolve("reviews.json"), "[{\"restaurantName\": \"Kababi\"");
+        assertThrows(UncheckedIOException.class, () -> new Database(dir.toString()));
+    }
+}
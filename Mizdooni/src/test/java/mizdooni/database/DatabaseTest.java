@@ -0,0 +1,106 @@
+package mizdooni.database;
+
+import mizdooni.model.Address;
+import mizdooni.model.Restaurant;
+import mizdooni.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseTest {
+    @TempDir
+    Path dir;
+
+    private Database db;
+
+    @BeforeEach
+    void setUp() {
+        db = new Database(dir.toString());
+    }
+
+    private Restaurant makeRestaurant(String name, String type, String city) {
+        return new Restaurant(name, null, type, LocalTime.of(10, 0), LocalTime.of(22, 0),
+                "description", new Address("Iran", city, "street"), "image");
+    }
+
+    @Test
+    void testSearchesWhileRestaurantsAreAdded() {
+        AtomicBoolean done = new AtomicBoolean();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 5_000; i++) {
+                db.addRestaurant(makeRestaurant("Restaurant " + i, i % 2 == 0 ? "Italian" : "Iranian", "Tehran"));
+            }
+            done.set(true);
+        });
+
+        while (!done.get()) {
+            for (Restaurant restaurant : db.findRestaurants("Rest", "Italian", "Tehran")) {
+                assertEquals("Italian", restaurant.getType());
+            }
+            for (Restaurant restaurant : db.findRestaurants(null, null, null)) {
+                assertNotNull(restaurant);
+            }
+        }
+        writer.join();
+
+        assertEquals(2_500, db.findRestaurants(null, "Italian", "Tehran").size());
+        assertEquals(5_000, db.findRestaurants(null, null, null).size());
+    }
+
+    @Test
+    void testFindRestaurantsReturnsASnapshot() {
+        db.addRestaurant(makeRestaurant("Pizza", "Italian", "Tehran"));
+        List<Restaurant> all = db.findRestaurants(null, null, null);
+        db.addRestaurant(makeRestaurant("Sushi", "Japanese", "Shiraz"));
+        assertEquals(1, all.size());
+    }
+
+    private User makeUser(String username, String email) {
+        return new User(username, "1234", email, new Address("Iran", "Tehran", null), User.Role.client);
+    }
+
+    @Test
+    void testAddUserRejectsTakenUsernameOrEmail() {
+        assertTrue(db.addUser(makeUser("ali", "ali@a.ir")));
+        assertFalse(db.addUser(makeUser("ali", "other@a.ir")));
+        assertFalse(db.addUser(makeUser("reza", "ali@a.ir")));
+
+        assertEquals(1, db.users.size());
+        assertNull(db.getUserByUsername("reza"));
+        assertEquals("ali@a.ir", db.getUserByUsername("ali").getEmail());
+    }
+
+    @Test
+    void testConcurrentSignupsWithSameUsernameAddOne() {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> signups = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            User user = makeUser("ali", "ali" + i + "@a.ir");
+            signups.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return db.addUser(user);
+            }));
+        }
+        start.countDown();
+
+        long added = signups.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+        assertEquals(1, added);
+        assertEquals(1, db.users.size());
+        assertSame(db.users.get(0), db.getUserByUsername("ali"));
+    }
+}
@@ -0,0 +1,77 @@
+package mizdooni.database;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonReaderTest {
+    @TempDir
+    Path dir;
+
+    private List<JsonNode> read(JsonReader.File file) {
+        List<JsonNode> records = new ArrayList<>();
+        int count = JsonReader.readRecords(dir.toString(), file, records::add);
+        assertEquals(records.size(), count);
+        return records;
+    }
+
+    @Test
+    void testReadsEveryRecordInOrder() throws IOException {
+        Files.writeString(dir.resolve("tables.json"), """
+                [
+                    {"restaurantName": "A", "tableNumber": 1, "seatsNumber": 4},
+                    {"restaurantName": "A", "tableNumber": 2, "seatsNumber": 2, "extra": {"nested": [1, 2]}},
+                    {"restaurantName": "B", "tableNumber": 1, "seatsNumber": 6}
+                ]
+                """);
+
+        List<JsonNode> records = read(JsonReader.File.TABLES);
+
+        assertEquals(3, records.size());
+        assertEquals("A", records.get(0).get("restaurantName").asText());
+        assertEquals(2, records.get(1).get("extra").get("nested").size());
+        assertEquals(6, records.get(2).get("seatsNumber").asInt());
+    }
+
+    @Test
+    void testEmptyArray() throws IOException {
+        Files.writeString(dir.resolve("users.json"), "[]");
+        assertTrue(read(JsonReader.File.USERS).isEmpty());
+    }
+
+    @Test
+    void testMissingFile() {
+        assertTrue(read(JsonReader.File.REVIEWS).isEmpty());
+    }
+
+    @Test
+    void testTopLevelObjectFails() throws IOException {
+        Files.writeString(dir.resolve("users.json"), "{\"username\": \"ali\"}");
+        assertThrows(UncheckedIOException.class, () -> read(JsonReader.File.USERS));
+    }
+
+    @Test
+    void testTruncatedFileFailsAfterCompleteRecords() throws IOException {
+        Files.writeString(dir.resolve("users.json"), "[{\"username\": \"ali\"}, {\"username\": \"re");
+        List<JsonNode> records = new ArrayList<>();
+        UncheckedIOException failure = assertThrows(UncheckedIOException.class,
+                () -> JsonReader.readRecords(dir.toString(), JsonReader.File.USERS, records::add));
+        assertTrue(failure.getMessage().contains("users.json after 1 records"));
+        assertEquals(1, records.size());
+    }
+
+    @Test
+    void testNonObjectElementFails() throws IOException {
+        Files.writeString(dir.resolve("users.json"), "[{\"username\": \"ali\"}, 42]");
+        assertThrows(UncheckedIOException.class, () -> read(JsonReader.File.USERS));
+    }
+}
@@ -0,0 +1,68 @@
+package mizdooni.database;
+
+import mizdooni.model.Address;
+import mizdooni.model.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantIndexTest {
+    private RestaurantIndex index;
+    private Restaurant kababi, pizza, sushi, burger;
+
+    private Restaurant makeRestaurant(String name, String type, String city) {
+        return new Restaurant(name, null, type, LocalTime.of(10, 0), LocalTime.of(22, 0),
+                "description", new Address("Iran", city, "street"), "image");
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new RestaurantIndex();
+        kababi = makeRestaurant("Kababi", "Iranian", "Tehran");
+        pizza = makeRestaurant("Pizza", "Italian", "Tehran");
+        sushi = makeRestaurant("Sushi", "Japanese", "Shiraz");
+        burger = makeRestaurant("Burger", "Italian", "Shiraz");
+        List.of(kababi, pizza, sushi, burger).forEach(index::add);
+    }
+
+    @Test
+    void testNoCriteriaReturnsNull() {
+        assertNull(index.candidates(null, null, null));
+    }
+
+    @Test
+    void testSingleCriterion() {
+        assertEquals(List.of(pizza.getId(), burger.getId()), index.candidates(null, "Italian", null));
+        assertEquals(List.of(sushi.getId(), burger.getId()), index.candidates(null, null, "Shiraz"));
+    }
+
+    @Test
+    void testIntersectionKeepsInsertionOrder() {
+        assertEquals(List.of(burger.getId()), index.candidates(null, "Italian", "Shiraz"));
+        assertEquals(List.of(pizza.getId()), index.candidates(null, "Italian", "Tehran"));
+    }
+
+    @Test
+    void testNameCandidatesShareTrigrams() {
+        assertEquals(List.of(pizza.getId()), index.candidates("izz", null, null));
+        assertEquals(List.of(kababi.getId()), index.candidates("Kababi", null, null));
+        assertEquals(List.of(burger.getId()), index.candidates("urge", "Italian", null));
+        assertTrue(index.candidates("Pasta", null, null).isEmpty());
+    }
+
+    @Test
+    void testShortNameIsNotNarrowed() {
+        assertNull(index.candidates("Pi", null, null));
+        assertEquals(List.of(pizza.getId(), burger.getId()), index.candidates("u", "Italian", null));
+    }
+
+    @Test
+    void testUnknownValueHasNoCandidates() {
+        assertTrue(index.candidates(null, "Mexican", "Tehran").isEmpty());
+        assertTrue(index.candidates(null, null, "Tabriz").isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+package mizdooni.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantSearchFilterTest {
+    private List<Restaurant> restaurants;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        restaurants = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, null, i % 2 == 0 ? "Iranian" : "Italian",
+                    LocalTime.of(10, 0), LocalTime.of(22, 0), "description",
+                    new Address("Iran", i % 3 == 0 ? "Tehran" : "Shiraz", "street"), "image");
+            int reviews = random.nextInt(4);
+            for (int j = 0; j < reviews; j++) {
+                Rating rating = new Rating();
+                rating.overall = random.nextInt(6);
+                User user = new User("user" + j, "pass", "user" + j + "@gmail.com", null, User.Role.client);
+                restaurant.addReview(new Review(user, rating, "comment", LocalDateTime.now()));
+            }
+            restaurants.add(restaurant);
+        }
+    }
+
+    @Test
+    void testMatchAppliesAllCriteria() {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setName("Restaurant 1");
+        filter.setType("Italian");
+        filter.setLocation("Tehran");
+
+        List<Restaurant> matched = filter.match(restaurants);
+        assertFalse(matched.isEmpty());
+        for (Restaurant r : matched) {
+            assertTrue(r.getName().contains("Restaurant 1"));
+            assertEquals("Italian", r.getType());
+            assertEquals("Tehran", r.getAddress().getCity());
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "rating, desc, 12",
+        "rating, asc, 24",
+        "reviews, desc, 1",
+        "reviews, asc, 36",
+        "rating, desc, 150",
+    })
+    void testSortLimitMatchesFullSortPrefix(String sort, String order, int limit) {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setSort(sort);
+        filter.setOrder(order);
+
+        List<Restaurant> fullySorted = filter.filter(restaurants);
+        List<Restaurant> top = filter.sort(new ArrayList<>(restaurants), limit);
+        assertEquals(fullySorted.subList(0, limit), top);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "rating, desc",
+        "reviews, asc",
+        ",",
+    })
+    void testAfterResumesFromCursorPosition(String sort, String order) {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setSort(sort);
+        filter.setOrder(order);
+
+        List<Restaurant> fullySorted = filter.filter(restaurants);
+        Restaurant last = fullySorted.get(29);
+        List<Restaurant> rest = filter.filter(filter.after(restaurants, filter.sortKeyOf(last), last.getId()));
+        assertEquals(fullySorted.subList(30, fullySorted.size()), rest);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "rating, desc, Italian",
+        "reviews, asc, ",
+        ", , Iranian",
+        ", , ",
+    })
+    void testPageAfterWalksTheFullResultPageByPage(String sort, String order, String type) {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setSort(sort);
+        filter.setOrder(order);
+        filter.setType(type);
+
+        List<Restaurant> fullySorted = filter.filter(restaurants);
+        // the first page comes from page mode, the rest from the cursor of the page before
+        List<Restaurant> walked = new ArrayList<>(fullySorted.subList(0, 7));
+        double key = filter.sortKeyOf(walked.getLast());
+        int id = walked.getLast().getId();
+        while (true) {
+            List<Restaurant> page = filter.pageAfter(restaurants, key, id, 7);
+            if (page.isEmpty()) {
+                break;
+            }
+            walked.addAll(page);
+            Restaurant last = page.getLast();
+            key = filter.sortKeyOf(last);
+            id = last.getId();
+        }
+        assertEquals(fullySorted, walked);
+    }
+
+    @Test
+    void testSortWithoutSortKeepsOrder() {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        assertEquals(restaurants.subList(0, 5), filter.sort(new ArrayList<>(restaurants), 5));
+    }
+}
@@ -1,6 +1,7 @@
 package mizdooni.model;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -143,6 +144,100 @@ class RestaurantTest {
         assertEquals(expected[3], averageRating.overall);
     }
 
+    @Test
+    void testGetAverageRatingAfterReviewReplaced() {
+        User otherUser = new User("other", "other123", "other@gmail.com", null, User.Role.client);
+        restaurant.addReview(new Review(user, makeRating(4.0, 3.0, 2.0, 4.0), "first", LocalDateTime.now()));
+        restaurant.addReview(new Review(otherUser, makeRating(2.0, 1.0, 4.0, 2.0), "second", LocalDateTime.now()));
+        restaurant.addReview(new Review(user, makeRating(5.0, 4.0, 3.0, 5.0), "updated", LocalDateTime.now()));
+
+        Rating averageRating = restaurant.getAverageRating();
+        assertEquals(3.5, averageRating.food);
+        assertEquals(2.5, averageRating.service);
+        assertEquals(3.5, averageRating.ambiance);
+        assertEquals(3.5, averageRating.overall);
+        assertEquals(4, restaurant.getStarCount());
+    }
+
+    @Test
+    void testReplacedReviewMovesToEnd() {
+        User otherUser = new User("other", "other123", "other@gmail.com", null, User.Role.client);
+        Review first = new Review(user, new Rating(), "first", LocalDateTime.now());
+        Review second = new Review(otherUser, new Rating(), "second", LocalDateTime.now());
+        Review updated = new Review(user, new Rating(), "updated", LocalDateTime.now());
+        restaurant.addReview(first);
+        restaurant.addReview(second);
+        restaurant.addReview(updated);
+
+        assertEquals(List.of(second, updated), restaurant.getReviews());
+        assertEquals(2, restaurant.getReviewCount());
+    }
+
+    @Test
+    void testGetReviewsAfter() {
+        User otherUser = new User("other", "other123", "other@gmail.com", null, User.Role.client);
+        Review first = new Review(user, new Rating(), "first", LocalDateTime.now());
+        Review second = new Review(otherUser, new Rating(), "second", LocalDateTime.now());
+        restaurant.addReview(first);
+        restaurant.addReview(second);
+
+        assertEquals(List.of(first, second), restaurant.getReviewsAfter(-1));
+        assertEquals(List.of(second), restaurant.getReviewsAfter(first.getSequence()));
+        assertTrue(restaurant.getReviewsAfter(second.getSequence()).isEmpty());
+
+        Review updated = new Review(user, new Rating(), "updated", LocalDateTime.now());
+        restaurant.addReview(updated);
+        assertEquals(List.of(updated), restaurant.getReviewsAfter(second.getSequence()));
+    }
+
+    @Test
+    void testConcurrentReadersSeeEveryReview() throws InterruptedException {
+        int writers = 4;
+        int reviewsPerWriter = 500;
+        Thread[] threads = new Thread[writers + 2];
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads[w] = new Thread(() -> {
+                for (int i = 0; i < reviewsPerWriter; i++) {
+                    User reviewer = new User("u" + writer + "_" + i, "pass", "e@mail", null, User.Role.client);
+                    restaurant.addReview(new Review(reviewer, makeRating(1, 2, 3, 4), "c", LocalDateTime.now()));
+                }
+            });
+        }
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int r = writers; r < threads.length; r++) {
+            threads[r] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 2000; i++) {
+                        restaurant.getReviews();
+                        restaurant.getAverageRating();
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(writers * reviewsPerWriter, restaurant.getReviews().size());
+        assertEquals(4, restaurant.getAverageRating().overall, 1e-9);
+    }
+
+    private Rating makeRating(double food, double service, double ambiance, double overall) {
+        Rating rating = new Rating();
+        rating.food = food;
+        rating.service = service;
+        rating.ambiance = ambiance;
+        rating.overall = overall;
+        return rating;
+    }
+
     @ParameterizedTest
     @MethodSource("RatingValuesAndExpectedStars")
     void testGetStarCount(double overallRating, int expectedStars, String comment) {
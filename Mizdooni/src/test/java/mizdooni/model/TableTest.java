@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,6 +68,57 @@ class TableTest {
         assertFalse(result);
     }
 
+    @Test
+    void testCancelledReservationIsNotReserved() {
+        table.addReservation(reservation);
+        reservation.cancel();
+        assertFalse(table.isReserved(LocalDateTime.parse("2024-10-10T15:00:00")));
+        assertEquals(0, table.getReservedHours(LocalDate.parse("2024-10-10")));
+    }
+
+    @Test
+    void testSlotStaysReservedUntilLastReservationIsCancelled() {
+        Reservation other = new Reservation(null, null, table, LocalDateTime.parse("2024-10-10T15:00:00"));
+        Reservation later = new Reservation(null, null, table, LocalDateTime.parse("2024-10-10T18:00:00"));
+        table.addReservation(reservation);
+        table.addReservation(other);
+        table.addReservation(later);
+
+        reservation.cancel();
+        assertTrue(table.isReserved(LocalDateTime.parse("2024-10-10T15:00:00")));
+        other.cancel();
+        assertFalse(table.isReserved(LocalDateTime.parse("2024-10-10T15:00:00")));
+        assertEquals(1 << 18, table.getReservedHours(LocalDate.parse("2024-10-10")));
+        later.cancel();
+        assertEquals(0, table.getReservedHours(LocalDate.parse("2024-10-10")));
+    }
+
+    @Test
+    void testCancelAfterPruningFallsBackToHistory() {
+        table.addReservation(reservation);
+        table.pruneReservedSlots(LocalDate.parse("2024-10-11"));
+        reservation.cancel();
+        assertFalse(table.isReserved(LocalDateTime.parse("2024-10-10T15:00:00")));
+    }
+
+    @Test
+    void testGetReservedHours() {
+        table.addReservation(reservation);
+        table.addReservation(new Reservation(null, null, table, LocalDateTime.parse("2024-10-10T18:00:00")));
+        table.addReservation(new Reservation(null, null, table, LocalDateTime.parse("2024-10-11T09:00:00")));
+        assertEquals((1 << 15) | (1 << 18), table.getReservedHours(LocalDate.parse("2024-10-10")));
+        assertEquals(1 << 9, table.getReservedHours(LocalDate.parse("2024-10-11")));
+        assertEquals(0, table.getReservedHours(LocalDate.parse("2024-10-12")));
+    }
+
+    @Test
+    void testIsReservedAfterPruning() {
+        table.addReservation(reservation);
+        table.pruneReservedSlots(LocalDate.parse("2024-10-11"));
+        assertTrue(table.isReserved(LocalDateTime.parse("2024-10-10T15:00:00")));
+        assertEquals(1 << 15, table.getReservedHours(LocalDate.parse("2024-10-10")));
+    }
+
     @Test
     void testGetReservationsInitiallyEmpty() {
         assertNotNull(table.getReservations());
@@ -9,6 +9,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 public class UserTest {
@@ -66,6 +68,37 @@ public class UserTest {
         assertEquals(1, reservation2.getReservationNumber());
     }
 
+    @Test
+    void testReadersSeeReservationsWhileTheyAreAdded() throws InterruptedException {
+        int reservations = 2000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < reservations; i++) {
+                user.addReservation(new Reservation(user, italianRestaurant, table1, LocalDateTime.now().plusDays(1)));
+            }
+        });
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread reader = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    for (Reservation r : user.getReservations()) {
+                        assertNotNull(r);
+                    }
+                    user.getReservation(i);
+                    user.checkReserved(italianRestaurant);
+                }
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(reservations, user.getReservations().size());
+    }
+
     @ParameterizedTest
     @CsvSource({
         "2023-10-10T10:00:00, false",
@@ -0,0 +1,112 @@
+package mizdooni.service;
+
+import mizdooni.database.Database;
+import mizdooni.exceptions.TableNotFound;
+import mizdooni.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+
+    @Mock
+    private Database db;
+    @Mock
+    private UserService userService;
+    @InjectMocks
+    private ReservationService reservationService;
+
+    private Restaurant restaurant;
+    private List<LocalDateTime> slots;
+
+    @BeforeEach
+    void setUp() {
+        User manager = new User("manager", "pass", "manager@gmail.com", null, User.Role.manager);
+        User client = new User("client", "pass", "client@gmail.com", null, User.Role.client);
+        restaurant = new Restaurant("Kababi", manager, "Iranian", LocalTime.of(10, 0), LocalTime.of(22, 0),
+                "description", new Address("Iran", "Tehran", "street"), "image");
+        for (int seats : new int[]{2, 2, 4, 4, 6, 8}) {
+            restaurant.addTable(new Table(0, restaurant.getId(), seats));
+        }
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        slots = List.of(tomorrow.atTime(12, 0), tomorrow.atTime(13, 0), tomorrow.atTime(14, 0));
+
+        when(db.getRestaurant(restaurant.getId())).thenReturn(restaurant);
+        when(userService.getCurrentUser()).thenReturn(client);
+    }
+
+    @Test
+    void testConcurrentReservationsNeverDoubleBook() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDateTime slot = slots.get((thread + i) % slots.size());
+                    try {
+                        reservationService.reserveTable(restaurant.getId(), 2, slot);
+                        reserved.incrementAndGet();
+                    } catch (TableNotFound ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int tables = restaurant.getTables().size();
+        assertEquals(tables * slots.size(), reserved.get());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - reserved.get(), rejected.get());
+        for (Table table : restaurant.getTables()) {
+            Map<LocalDateTime, Long> perSlot = table.getReservations().stream()
+                    .filter(r -> !r.isCancelled())
+                    .collect(Collectors.groupingBy(Reservation::getDateTime, Collectors.counting()));
+            assertEquals(slots.size(), perSlot.size());
+            perSlot.values().forEach(count -> assertEquals(1L, count));
+        }
+    }
+
+    @Test
+    void testReservationFallsBackToNextBestFitTable() throws Exception {
+        LocalDateTime slot = slots.getFirst();
+        Reservation first = reservationService.reserveTable(restaurant.getId(), 3, slot);
+        Reservation second = reservationService.reserveTable(restaurant.getId(), 3, slot);
+        Reservation third = reservationService.reserveTable(restaurant.getId(), 3, slot);
+
+        assertEquals(4, first.getTable().getSeatsNumber());
+        assertEquals(4, second.getTable().getSeatsNumber());
+        assertNotSame(first.getTable(), second.getTable());
+        assertEquals(6, third.getTable().getSeatsNumber());
+    }
+}
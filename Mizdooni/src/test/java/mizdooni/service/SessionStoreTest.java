@@ -0,0 +1,86 @@
+package mizdooni.service;
+
+import mizdooni.model.Address;
+import mizdooni.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionStoreTest {
+    private TestClock clock;
+    private SessionStore sessions;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TestClock();
+        sessions = new SessionStore(Duration.ofMinutes(30), clock);
+        user = new User("user", "pass", "user@gmail.com", new Address("Iran", "Tehran", null), User.Role.client);
+    }
+
+    @Test
+    void testResolveCreatedSession() {
+        String token = sessions.create(user);
+        assertEquals(user, sessions.resolve(token));
+        assertNull(sessions.resolve("unknown"));
+    }
+
+    @Test
+    void testTokensAreUnique() {
+        assertNotEquals(sessions.create(user), sessions.create(user));
+    }
+
+    @Test
+    void testSessionExpiresAfterIdleTimeout() {
+        String token = sessions.create(user);
+        clock.advance(Duration.ofMinutes(31));
+        assertNull(sessions.resolve(token));
+    }
+
+    @Test
+    void testResolveRefreshesIdleTimer() {
+        String token = sessions.create(user);
+        clock.advance(Duration.ofMinutes(20));
+        assertEquals(user, sessions.resolve(token));
+        clock.advance(Duration.ofMinutes(20));
+        assertEquals(user, sessions.resolve(token));
+    }
+
+    @Test
+    void testInvalidate() {
+        String token = sessions.create(user);
+        assertTrue(sessions.invalidate(token));
+        assertNull(sessions.resolve(token));
+        assertFalse(sessions.invalidate(token));
+    }
+
+    private static class TestClock extends Clock {
+        private Instant now = Instant.parse("2024-10-10T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}